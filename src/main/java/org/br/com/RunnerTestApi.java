@@ -2,8 +2,13 @@ package org.br.com;
 
 import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
+import org.apache.logging.log4j.LogManager;
+import org.br.com.core.filter.RepositorioBlobs;
 import org.br.com.core.support.Context;
 import org.br.com.test.utils.DataUtils;
+import org.br.com.test.utils.LimpezaRecursosCriados;
+import org.br.com.test.utils.evidence.AmostragemEvidencias;
+import org.br.com.test.utils.evidence.EvidenciaExecutor;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
@@ -11,9 +16,14 @@ import org.junit.runner.RunWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -42,6 +52,8 @@ public class RunnerTestApi {
     private static Instant startTime; // TODO: Armazena o instante de início da execução dos testes. // TODO: Usado para calcular a duração total da execução dos testes.
     // Variável estática para armazenar a data atual formatada.
     private static String currentDate; // TODO: Armazena a data atual formatada para uso em nomes de arquivos de log. // TODO: Garante que os arquivos de log sejam únicos para cada dia de execução.
+    // Só depois de encerrarLogs() os appenders estão fechados e os arquivos de log podem ser movidos ou apagados.
+    private static boolean logsEncerrados;
     
     /**
      * Método executado uma vez antes de todas as classes de teste.
@@ -58,6 +70,7 @@ public class RunnerTestApi {
         createLogFilesWithDate();
         
         Context.resetCounters(); // TODO: Reseta os contadores de contexto da classe Context.
+        EvidenciaExecutor.iniciar();
 //        LogFormatter.logStep("Iniciando execucao dos test de API");
     }
     
@@ -68,6 +81,16 @@ public class RunnerTestApi {
      */
     @AfterClass // TODO: Anotação do JUnit que indica que este método será executado uma vez após todos os testes da classe.
     public static void afterClass() {
+        // Gera as evidências retidas pela amostragem por reservatório e aguarda a fila esvaziar (com timeout).
+        AmostragemEvidencias.descarregarReservatorios();
+        EvidenciaExecutor.aguardarConclusao();
+
+        // Exclui em paralelo os artigos, categorias e usuários criados durante a execução.
+        LimpezaRecursosCriados.executar();
+
+        // Resumo do repositório de corpos deduplicados das evidências.
+        RepositorioBlobs.imprimirResumo();
+
         // Captura o tempo de término da execução.
         Instant endTime = Instant.now(); // TODO: Captura o tempo exato em que a execução dos testes termina. // TODO: Usado em conjunto com 'startTime' para calcular a duração.
         // Calcula a duração total da execução em milissegundos.
@@ -90,9 +113,21 @@ public class RunnerTestApi {
             }
         }
         
+        // Esvazia o ring buffer do AsyncRoot e fecha os appenders (immediateFlush="false") antes de mexer nos arquivos.
+        encerrarLogs();
+
         // Renomear arquivos de log com data // TODO: Chama o método para renomear os arquivos de log com a data atual.
         renameLogFilesWithDate();
     }
+
+    /**
+     * Ponto explícito de flush dos logs: para o LoggerContext, entregando os eventos pendentes do ring buffer
+     * aos appenders e fechando os arquivos. Nada deve ser logado via Log4j2 depois desta chamada.
+     */
+    private static void encerrarLogs() {
+        LogManager.shutdown();
+        logsEncerrados = true;
+    }
     
     /**
      * Cria diretórios e arquivos de log com a data atual, se ainda não existirem.
@@ -136,45 +171,52 @@ public class RunnerTestApi {
      * Renomeia os arquivos de log padrão ('execution.log' e 'automation.log') para incluir a data atual.
      * Se um arquivo com a data já existir, o conteúdo do arquivo padrão é anexado ao arquivo datado,
      * e o arquivo padrão é então excluído. Caso contrário, o arquivo padrão é simplesmente renomeado.
+     * Um lock em 'target/log/.consolidacao.lock' serializa a consolidação entre forks que terminam juntos.
+     * Exige os logs encerrados ({@link #encerrarLogs()}): com os appenders abertos, apagar o arquivo padrão
+     * descartaria o que ainda está no ring buffer e no buffer do RandomAccessFile.
      */
     private static void renameLogFilesWithDate() {
-        try { // TODO: Bloco try-catch para tratamento de exceções de I/O.
-            // Renomear arquivos de log padrão para arquivos com data
-            File executionLog = new File("target/log/execution.log"); // TODO: Cria um objeto File para o log de execução padrão. // TODO: Representa o arquivo de log temporário gerado durante a execução.
-            File automationLog = new File("target/log/automation.log"); // TODO: Cria um objeto File para o log de automação padrão. // TODO: Representa o arquivo de log temporário gerado durante a execução.
-            
+        if (!logsEncerrados) {
+            System.err.println("Consolidacao dos logs ignorada: os appenders do Log4j2 ainda estao abertos.");
+            return;
+        }
+        Path lockFile = Paths.get("target/log/.consolidacao.lock");
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
             // Processa o arquivo de log de execução.
-            if (executionLog.exists()) {
-                File newExecutionLog = new File("target/log/execution-" + currentDate + ".log"); // TODO: Define o novo nome do arquivo de log de execução com a data. // TODO: O novo nome inclui a data para arquivamento.
-                if (newExecutionLog.exists()) {
-                    // Se o arquivo com data já existe, anexa o conteúdo do log padrão.
-                    Files.write(newExecutionLog.toPath(), 
-                               Files.readAllBytes(executionLog.toPath()), 
-                               java.nio.file.StandardOpenOption.APPEND); // TODO: Anexa o conteúdo do log padrão ao log datado. // TODO: StandardOpenOption.APPEND garante que o conteúdo seja adicionado ao final do arquivo.
-                    // Deleta o arquivo de log padrão após anexar seu conteúdo.
-                    executionLog.delete(); // TODO: Deleta o arquivo de log de execução padrão. // TODO: Remove o arquivo temporário após seu conteúdo ser transferido.
-                } else {
-                    // Se o arquivo com data não existe, simplesmente renomeia o log padrão.
-                    executionLog.renameTo(newExecutionLog); // TODO: Renomeia o arquivo de log de execução padrão. // TODO: Move o arquivo para o novo nome.
-                }
-            }
-            
+            consolidarLog(Paths.get("target/log/execution.log"), Paths.get("target/log/execution-" + currentDate + ".log"));
             // Processa o arquivo de log de automação.
-            if (automationLog.exists()) {
-                File newAutomationLog = new File("target/log/automation-" + currentDate + ".log"); // TODO: Define o novo nome do arquivo de log de automação com a data. // TODO: O novo nome inclui a data para arquivamento.
-                if (newAutomationLog.exists()) {
-                    // Se o arquivo com data já existe, copiar o conteúdo
-                    Files.write(newAutomationLog.toPath(), 
-                               Files.readAllBytes(automationLog.toPath()), 
-                               java.nio.file.StandardOpenOption.APPEND);
-                    // Deleta o arquivo de log padrão após anexar seu conteúdo.
-                    automationLog.delete();
-                } else {
-                    automationLog.renameTo(newAutomationLog);
-                }
-            } // TODO: Adicionar tratamento de exceção mais granular para diferentes tipos de IOException. // TODO: Considerar exceções específicas como FileAlreadyExistsException ou AccessDeniedException.
+            consolidarLog(Paths.get("target/log/automation.log"), Paths.get("target/log/automation-" + currentDate + ".log"));
         } catch (IOException e) {
             System.err.println("Erro ao renomear arquivos de log: " + e.getMessage());
         }
     }
+
+    /**
+     * Move o log para o arquivo datado com rename atômico quando o destino não existe (ou está vazio);
+     * caso contrário anexa com FileChannel.transferTo, que copia entre arquivos sem passar o conteúdo pelo heap.
+     */
+    private static void consolidarLog(Path origem, Path destino) throws IOException {
+        if (!Files.exists(origem)) {
+            return;
+        }
+        if (!Files.exists(destino) || Files.size(destino) == 0) {
+            try {
+                Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                // Segue para a cópia por canal abaixo.
+            }
+        }
+        try (FileChannel entrada = FileChannel.open(origem, StandardOpenOption.READ);
+             FileChannel saida = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long tamanho = entrada.size();
+            long posicao = 0;
+            while (posicao < tamanho) {
+                posicao += entrada.transferTo(posicao, tamanho - posicao, saida);
+            }
+        }
+        // Deleta o arquivo de log padrão após anexar seu conteúdo.
+        Files.delete(origem);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,121 @@
+package org.br.com.core.filter;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.br.com.core.support.logger.MascaramentoRewritePolicy;
+import org.br.com.test.utils.ExecucaoConfig;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Captura de corpos HTTP para as evidências.
+ * Com "evidencia.blobs.habilitado" (padrão) todo corpo é gravado, já mascarado, no {@link RepositorioBlobs}:
+ * a evidência guarda só uma prévia de até "evidencia.corpo.previa.bytes" e referencia o corpo pelo hash, de modo
+ * que payloads repetidos (tokens de login, mensagens de erro) são gravados uma única vez.
+ * Desabilitar o repositório é a opção explícita por texto inline: corpos até "evidencia.corpo.limite.bytes" ficam
+ * em memória como texto e só os maiores vão para target/evidence/corpos, com a prévia e o caminho do arquivo.
+ * O que vai para disco é mascarado enquanto é escrito ({@link MascaradorCorpo}, com as regras do
+ * {@link MascaramentoRewritePolicy}): senhas, tokens e e-mails não ficam em claro em target/evidence, e o corpo
+ * não é copiado para Strings intermediárias no caminho.
+ */
+@Log4j2
+public class CapturaCorpo {
+
+	private static final Path DIRETORIO_CORPOS = Paths.get("target", "evidence", "corpos");
+
+	@Getter
+	public static class Corpo {
+		private final String texto;
+		private final String arquivo;
+		// Hash do blob no RepositorioBlobs; nulo com o repositório desabilitado.
+		private final String hash;
+
+		private Corpo(String texto, String arquivo, String hash) {
+			this.texto = texto;
+			this.arquivo = arquivo;
+			this.hash = hash;
+		}
+
+		/**
+		 * Prévia seguida da referência ao blob, para saídas que exibem o texto sem formatá-lo.
+		 */
+		public String getTextoComReferencia() {
+			return comReferencia(texto, hash);
+		}
+	}
+
+	/**
+	 * Acrescenta ao texto (já formatado) a referência ao blob com o corpo completo; sem hash, devolve o texto.
+	 */
+	public static String comReferencia(String texto, String hash) {
+		if (hash == null) {
+			return texto;
+		}
+		return texto + "\n[corpo completo: blob " + hash + " em " + RepositorioBlobs.caminho(hash).toAbsolutePath() + "]";
+	}
+
+	public static Corpo capturar(byte[] bytes) {
+		if (bytes == null || bytes.length == 0) {
+			return new Corpo("", null, null);
+		}
+		if (inline(bytes.length)) {
+			return new Corpo(new String(bytes, StandardCharsets.UTF_8), null, null);
+		}
+		return gravar(destino -> MascaradorCorpo.mascarar(bytes, destino));
+	}
+
+	public static Corpo capturar(String texto) {
+		if (texto == null || texto.isEmpty()) {
+			return new Corpo("", null, null);
+		}
+		// Limite aproximado em caracteres, sem codificar o texto inteiro só para medir.
+		if (inline(texto.length())) {
+			return new Corpo(texto, null, null);
+		}
+		return gravar(destino -> MascaradorCorpo.mascarar(texto, destino));
+	}
+
+	private static boolean inline(int tamanho) {
+		return !ExecucaoConfig.isEvidenciaBlobsHabilitado() && tamanho <= ExecucaoConfig.getEvidenciaCorpoLimite();
+	}
+
+	private interface Escrita {
+		void escrever(Writer destino) throws IOException;
+	}
+
+	private static Corpo gravar(Escrita escrita) {
+		int bytesPrevia = ExecucaoConfig.getEvidenciaCorpoPreviaBytes();
+		boolean blobs = ExecucaoConfig.isEvidenciaBlobsHabilitado();
+		GravacaoCorpo gravacao = null;
+		try {
+			gravacao = blobs ? RepositorioBlobs.novaGravacao(bytesPrevia) : new GravacaoCorpo(DIRETORIO_CORPOS, bytesPrevia);
+			// Mascara enquanto grava: o arquivo é publicado junto com as evidências.
+			escrita.escrever(new OutputStreamWriter(gravacao, StandardCharsets.UTF_8));
+			if (blobs) {
+				String hash = RepositorioBlobs.publicar(gravacao);
+				String caminho = RepositorioBlobs.caminho(hash).toAbsolutePath().toString();
+				// A referência ao blob é acrescentada por quem exibe o corpo (comReferencia), depois de formatá-lo.
+				String texto = gravacao.isCompleto() ? gravacao.getPrevia()
+						: gravacao.getPrevia() + "\n... [corpo truncado: " + gravacao.getTamanho() + " bytes]";
+				return new Corpo(texto, caminho, hash);
+			}
+			Path arquivo = DIRETORIO_CORPOS.resolve(UUID.randomUUID() + ".body");
+			gravacao.moverPara(arquivo);
+			String caminho = arquivo.toAbsolutePath().toString();
+			return new Corpo(gravacao.getPrevia() + "\n... [corpo truncado: " + gravacao.getTamanho() + " bytes, completo em " + caminho + "]", caminho, null);
+		} catch (IOException e) {
+			log.error("Erro ao gravar corpo em disco: ", e);
+			if (gravacao == null) {
+				return new Corpo("[corpo não capturado: erro ao gravar em disco]", null, null);
+			}
+			gravacao.descartar();
+			return new Corpo(gravacao.getPrevia() + "\n... [corpo truncado: " + gravacao.getTamanho() + " bytes]", null, null);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package org.br.com.core.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Buffer, por cenário, de todas as trocas HTTP capturadas pelo {@link EvidenceFilter}, na ordem em que ocorreram.
+ * Cada thread de cenário tem a sua própria lista (sem compartilhamento entre threads), aberta no @Before
+ * do HooksEvidenciasApi e consumida no @After pelo gerador de evidências.
+ */
+public class CapturaTrocasHttp {
+
+	private static final ThreadLocal<List<TrocaHttp>> trocas = ThreadLocal.withInitial(ArrayList::new);
+
+	public static void iniciar() {
+		trocas.remove();
+	}
+
+	public static void registrar(TrocaHttp troca) {
+		trocas.get().add(troca);
+	}
+
+	/**
+	 * Retorna as trocas do cenário atual e limpa o buffer da thread.
+	 */
+	public static List<TrocaHttp> consumir() {
+		List<TrocaHttp> resultado = trocas.get();
+		trocas.remove();
+		return Collections.unmodifiableList(resultado);
+	}
+}
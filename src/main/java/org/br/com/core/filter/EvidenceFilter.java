@@ -5,13 +5,13 @@ import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
-import org.br.com.test.utils.hooks.HooksEvidenciasApi;
+import org.br.com.core.support.logger.EventosExecucao;
 
 /**
  * TODO: Esta classe {@code EvidenceFilter} é um filtro de Requisições e Respostas
  * para a API RestAssured. Ela é responsável por capturar e registrar dados
- * de requisições e respostas HTTP para fins de evidência, utilizando a classe
- * {@link HooksEvidenciasApi}.
+ * de requisições e respostas HTTP para fins de evidência. Cada troca é registrada
+ * no buffer do cenário atual ({@link CapturaTrocasHttp}), sem sobrescrever as anteriores.
  *
  * <p>Esta classe implementa a interface {@link Filter} do RestAssured,
  * permitindo que ela seja encadeada na execução de requisições.</p>
@@ -25,8 +25,8 @@ public class EvidenceFilter implements Filter {
     /**
      * TODO: Este método {@code filter} é a implementação da interface {@link Filter}
      * e é chamado para cada requisição HTTP. Ele intercepta a requisição e a resposta,
-     * extrai informações relevantes e as envia para a classe {@link HooksEvidenciasApi}
-     * para registro.
+     * extrai informações relevantes e as registra como uma {@link TrocaHttp}
+     * no buffer do cenário.
      *
      * @param requestSpec TODO: Especificação da requisição filtrável, contendo detalhes como método, URI, cabeçalhos e corpo.
      * @param responseSpec TODO: Especificação da resposta filtrável.
@@ -35,19 +35,35 @@ public class EvidenceFilter implements Filter {
      */
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long inicio = System.nanoTime();
         Response response = ctx.next(requestSpec, responseSpec);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
 
-        String method = requestSpec.getMethod();
-        String uri = requestSpec.getURI();
-        String headers = requestSpec.getHeaders().toString();
-        String body = requestSpec.getBody() != null ? requestSpec.getBody().toString() : "";
+        // Os corpos vão para disco (blob ou, acima do limite, arquivo); a troca guarda só a prévia e a referência.
+        CapturaCorpo.Corpo requestBody = CapturaCorpo.capturar(requestSpec.getBody() != null ? requestSpec.getBody().toString() : "");
+        byte[] bytesResposta = response.getBody().asByteArray();
+        CapturaCorpo.Corpo responseBody = CapturaCorpo.capturar(bytesResposta);
 
-        HooksEvidenciasApi.capturarDadosRequisicao(method, uri, headers, body);
+        TrocaHttp troca = TrocaHttp.builder()
+                .method(requestSpec.getMethod())
+                .uri(requestSpec.getURI())
+                .headers(requestSpec.getHeaders().asList())
+                .requestBody(requestBody.getTexto())
+                .requestBodyArquivo(requestBody.getArquivo())
+                .requestBodyHash(requestBody.getHash())
+                .statusCode(String.valueOf(response.getStatusCode()))
+                .responseBody(responseBody.getTexto())
+                .responseBodyArquivo(responseBody.getArquivo())
+                .responseBodyHash(responseBody.getHash())
+                .build();
 
-        String statusCode = String.valueOf(response.getStatusCode());
-        String responseBody = response.getBody().asString();
-
-        HooksEvidenciasApi.capturarDadosResposta(statusCode, responseBody);
+        CapturaTrocasHttp.registrar(troca);
+        // Com eventos desabilitados não monta (nem faz boxing de) nenhum campo do evento.
+        if (EventosExecucao.habilitado()) {
+            EventosExecucao.registrar(EventosExecucao.HTTP, "method", troca.getMethod(), "uri", troca.getUri(),
+                    "status", response.getStatusCode(), "duracaoMs", duracaoMs,
+                    "bytesResposta", bytesResposta.length);
+        }
 
         return response;
     }
@@ -0,0 +1,137 @@
+package org.br.com.core.filter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Corpo sendo gravado em um arquivo temporário. O SHA-256, o tamanho e a prévia (os primeiros bytes) são
+ * calculados enquanto os bytes passam, de modo que o corpo nunca precisa estar inteiro em memória.
+ * Depois de fechado, o arquivo é publicado com {@link #moverPara(Path)} ou apagado com {@link #descartar()}.
+ */
+final class GravacaoCorpo extends OutputStream {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final Path temporario;
+	private final OutputStream arquivo;
+	private final MessageDigest digest;
+	// Um byte além da prévia, para saber se o corte cai no meio de um caractere UTF-8.
+	private final byte[] previa;
+	private int tamanhoPrevia;
+	private long tamanho;
+	private boolean fechado;
+	private String hash;
+
+	GravacaoCorpo(Path diretorio, int bytesPrevia) throws IOException {
+		Files.createDirectories(diretorio);
+		this.temporario = diretorio.resolve(UUID.randomUUID() + ".tmp");
+		this.arquivo = new BufferedOutputStream(Files.newOutputStream(temporario));
+		this.previa = new byte[bytesPrevia + 1];
+		try {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		arquivo.write(b, off, len);
+		digest.update(b, off, len);
+		int copiar = Math.min(len, previa.length - tamanhoPrevia);
+		if (copiar > 0) {
+			System.arraycopy(b, off, previa, tamanhoPrevia, copiar);
+			tamanhoPrevia += copiar;
+		}
+		tamanho += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		arquivo.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!fechado) {
+			fechado = true;
+			arquivo.close();
+		}
+	}
+
+	long getTamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Se o corpo inteiro coube na prévia.
+	 */
+	boolean isCompleto() {
+		return tamanho < previa.length;
+	}
+
+	/**
+	 * Primeiros bytes do corpo, recuando o corte até o início de um caractere UTF-8 para não partir um
+	 * caractere multibyte (o que viraria U+FFFD na evidência).
+	 */
+	String getPrevia() {
+		int fim = Math.min(tamanhoPrevia, previa.length - 1);
+		while (fim > 0 && fim < tamanhoPrevia && (previa[fim] & 0xC0) == 0x80) {
+			fim--;
+		}
+		return new String(previa, 0, fim, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * SHA-256 (hex) do conteúdo gravado; só pode ser lido depois de {@link #close()}.
+	 */
+	String getHash() {
+		if (!fechado) {
+			throw new IllegalStateException("Gravação ainda aberta: " + temporario);
+		}
+		if (hash == null) {
+			byte[] bytes = digest.digest();
+			char[] hex = new char[bytes.length * 2];
+			for (int i = 0; i < bytes.length; i++) {
+				hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+			}
+			hash = new String(hex);
+		}
+		return hash;
+	}
+
+	/**
+	 * Move o arquivo para o destino final de uma vez, para que leitores nunca vejam um corpo incompleto.
+	 */
+	void moverPara(Path destino) throws IOException {
+		close();
+		Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	void descartar() {
+		try {
+			close();
+		} catch (IOException ignorada) {
+			// O arquivo é apagado em seguida de qualquer forma.
+		}
+		try {
+			Files.deleteIfExists(temporario);
+		} catch (IOException ignorada) {
+			// Resto em target/, sem efeito nas evidências.
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package org.br.com.core.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.br.com.core.support.logger.MascaramentoRewritePolicy;
+import org.br.com.test.utils.MascaramentoDados;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Mascara um corpo HTTP enquanto o escreve no destino, sem criar cópias do corpo inteiro.
+ * JSON é copiado token a token com os valores de campos sensíveis substituídos (como no FormatUtils) e os
+ * demais textos passando pela política de texto livre;
+ * o que não é JSON, ou o que sobra de um JSON inválido ou truncado, passa em blocos pelo
+ * {@link MascaramentoRewritePolicy#escritor(Writer)}.
+ */
+final class MascaradorCorpo {
+
+	// Sem fechar o destino nem completar estruturas abertas: o restante do corpo é escrito depois do gerador.
+	private static final JsonFactory JSON_FACTORY = new JsonFactory()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+	private MascaradorCorpo() {
+	}
+
+	/**
+	 * Escreve o corpo (UTF-8) mascarado no destino e fecha o destino.
+	 */
+	static void mascarar(byte[] corpo, Writer destino) throws IOException {
+		int inicio = 0;
+		if (pareceJson(corpo)) {
+			try (JsonParser parser = JSON_FACTORY.createParser(corpo)) {
+				inicio = (int) copiarJson(parser, destino, corpo.length, true);
+			}
+		}
+		copiarTexto(new InputStreamReader(new ByteArrayInputStream(corpo, inicio, corpo.length - inicio), StandardCharsets.UTF_8), destino);
+	}
+
+	/**
+	 * Escreve o corpo mascarado no destino e fecha o destino.
+	 */
+	static void mascarar(String corpo, Writer destino) throws IOException {
+		long inicio = 0;
+		if (pareceJson(corpo)) {
+			try (JsonParser parser = JSON_FACTORY.createParser(corpo)) {
+				inicio = copiarJson(parser, destino, corpo.length(), false);
+			}
+		}
+		Reader leitor = new StringReader(corpo);
+		leitor.skip(inicio);
+		copiarTexto(leitor, destino);
+	}
+
+	/**
+	 * Copia um único valor raiz mascarando campos sensíveis.
+	 *
+	 * @return posição (em bytes ou caracteres, conforme a origem) a partir da qual o corpo não foi copiado
+	 */
+	private static long copiarJson(JsonParser parser, Writer destino, long tamanho, boolean bytes) throws IOException {
+		try (JsonGenerator gen = JSON_FACTORY.createGenerator(destino)) {
+			int profundidade = 0;
+			MascaramentoDados.Tipo sensivel = null;
+			try {
+				while (parser.nextToken() != null) {
+					JsonToken token = parser.currentToken();
+					if (token == JsonToken.FIELD_NAME) {
+						sensivel = MascaramentoDados.tipoDoCampo(parser.currentName());
+						gen.copyCurrentEvent(parser);
+						continue;
+					}
+					if (sensivel != null && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+						gen.writeString(MascaramentoDados.mascarar(sensivel, parser.getText()));
+					} else if (token == JsonToken.VALUE_STRING) {
+						// E-mails e "Bearer x" dentro de valores comuns, como no mascaramento de texto livre.
+						gen.writeString(MascaramentoRewritePolicy.mascarar(parser.getText()));
+					} else {
+						gen.copyCurrentEvent(parser);
+					}
+					sensivel = null;
+					if (token.isStructStart()) {
+						profundidade++;
+					} else if (token.isStructEnd()) {
+						profundidade--;
+					}
+					if (profundidade == 0) {
+						break;
+					}
+				}
+			} catch (JsonProcessingException e) {
+				// JSON inválido ou truncado: o que já foi copiado fica, o restante segue como texto livre.
+				gen.flush();
+				return posicao(e.getLocation(), tamanho, bytes);
+			}
+			gen.flush();
+			return posicao(parser.currentLocation(), tamanho, bytes);
+		}
+	}
+
+	private static long posicao(JsonLocation local, long tamanho, boolean bytes) {
+		long offset = local == null ? -1 : (bytes ? local.getByteOffset() : local.getCharOffset());
+		return offset < 0 ? tamanho : Math.min(tamanho, offset);
+	}
+
+	private static void copiarTexto(Reader origem, Writer destino) throws IOException {
+		try (Writer mascarado = MascaramentoRewritePolicy.escritor(destino)) {
+			origem.transferTo(mascarado);
+		}
+	}
+
+	private static boolean pareceJson(byte[] corpo) {
+		for (byte b : corpo) {
+			if (!Character.isWhitespace(b)) {
+				return b == '{' || b == '[';
+			}
+		}
+		return false;
+	}
+
+	private static boolean pareceJson(String corpo) {
+		for (int i = 0; i < corpo.length(); i++) {
+			char c = corpo.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				return c == '{' || c == '[';
+			}
+		}
+		return false;
+	}
+}
@@ -3,9 +3,12 @@ package org.br.com.core.filter;
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.DeviceRgb;
@@ -30,6 +33,7 @@ import io.restassured.specification.FilterableResponseSpecification;
 import io.restassured.specification.MultiPartSpecification;
 import lombok.extern.log4j.Log4j2;
 import org.br.com.core.support.logger.LogFormatter;
+import org.br.com.test.utils.evidence.EvidenciaExecutor;
 
 /**
  * <p>
@@ -55,9 +59,110 @@ public class PDFLoggerFilter implements Filter {
 
 	private final String scenarioName;
 	private final String scenarioId;
-	private final List<Table> tables;
+	private final List<RegistroRequisicao> registros;
 	// TODO: A classe PDFLoggerFilter é instanciada em classes de teste que utilizam RestAssured para logar as interações HTTP.
 
+	/**
+	 * Registro compacto e imutável de uma requisição/resposta. Seções vazias ficam nulas;
+	 * a tabela do iText só é montada no {@link #closeDocument(Boolean)}.
+	 */
+	private static final class RegistroRequisicao {
+		private final String method;
+		private final String url;
+		private final String proxy;
+		private final String requestParams;
+		private final String queryParams;
+		private final String formParams;
+		private final String pathParams;
+		private final String headers;
+		private final String cookies;
+		private final String multipartParams;
+		private final String requestBody;
+		private final int statusCode;
+		private final String responseBody;
+
+		private RegistroRequisicao(FilterableRequestSpecification requestSpec, Response response) {
+			this.method = requestSpec.getMethod();
+			this.url = requestSpec.getURI();
+			this.proxy = requestSpec.getProxySpecification() != null
+					? requestSpec.getProxySpecification().getHost() + ":" + requestSpec.getProxySpecification().getPort()
+					: null;
+			this.requestParams = juntar(requestSpec.getRequestParams());
+			this.queryParams = juntar(requestSpec.getQueryParams());
+			this.formParams = juntar(requestSpec.getFormParams());
+			this.pathParams = juntar(requestSpec.getPathParams());
+
+			StringBuilder sb = new StringBuilder();
+			for (Header header : requestSpec.getHeaders().asList()) {
+				sb.append(header.getName()).append("=").append(header.getValue()).append("\n");
+			}
+			this.headers = sb.toString();
+
+			sb.setLength(0);
+			for (Cookie cookie : requestSpec.getCookies().asList()) {
+				sb.append(cookie.getName()).append("=").append(cookie.getValue()).append("\n");
+			}
+			this.cookies = sb.length() > 0 ? sb.toString() : null;
+
+			sb.setLength(0);
+			for (MultiPartSpecification m : requestSpec.getMultiPartParams()) {
+				sb.append(m.getFileName()).append("\n");
+				sb.append(m.getMimeType()).append("\n");
+				sb.append(m.getContent()).append("\n");
+			}
+			this.multipartParams = sb.length() > 0 ? sb.toString() : null;
+
+			this.requestBody = CapturaCorpo.capturar(requestSpec.getBody() != null ? requestSpec.getBody().toString() : "").getTextoComReferencia();
+			this.statusCode = response.getStatusCode();
+			this.responseBody = CapturaCorpo.capturar(response.getBody().asByteArray()).getTextoComReferencia();
+		}
+
+		private static String juntar(Map<String, ?> params) {
+			if (params.isEmpty()) {
+				return null;
+			}
+			StringBuilder sb = new StringBuilder();
+			for (Entry<String, ?> entry : params.entrySet()) {
+				sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+			}
+			return sb.toString();
+		}
+
+		private Table criarTabela() {
+			Table table = new Table(UnitValue.createPercentArray(new float[] { 20, 80 }));
+			table.setWidth(UnitValue.createPercentValue(100));
+			table.setFixedLayout();
+
+			table.addCell("Request method");
+			table.addCell(method);
+			table.addCell("Request URI");
+			table.addCell(url);
+			adicionarSePresente(table, "Proxy", proxy);
+			adicionarSePresente(table, "Request params", requestParams);
+			adicionarSePresente(table, "Query params", queryParams);
+			adicionarSePresente(table, "Form params", formParams);
+			adicionarSePresente(table, "Path params", pathParams);
+			table.addCell("Headers");
+			table.addCell(headers);
+			adicionarSePresente(table, "Cookies", cookies);
+			adicionarSePresente(table, "Multiparts", multipartParams);
+			table.addCell("Request Body");
+			table.addCell(requestBody);
+			table.addCell("Status Code");
+			table.addCell(Integer.toString(statusCode));
+			table.addCell("Response Body");
+			table.addCell(responseBody);
+			return table;
+		}
+
+		private static void adicionarSePresente(Table table, String rotulo, String valor) {
+			if (valor != null && !valor.isEmpty()) {
+				table.addCell(rotulo);
+				table.addCell(valor);
+			}
+		}
+	}
+
 	/**
 	 * Construtor para inicializar o filtro com o nome e ID do cenário de teste.
 	 *
@@ -67,7 +172,7 @@ public class PDFLoggerFilter implements Filter {
 	public PDFLoggerFilter(String scenarioName, String scenarioId) {
 		this.scenarioName = scenarioName;
 		this.scenarioId = scenarioId;
-		this.tables = new ArrayList<Table>();
+		this.registros = Collections.synchronizedList(new ArrayList<>());
 	}
 
 	/**
@@ -93,119 +198,15 @@ public class PDFLoggerFilter implements Filter {
 
 	/**
 	 * <p>
-	 * Coleta os detalhes da requisição e da resposta e os adiciona a uma nova tabela.
-	 * Esta tabela será posteriormente adicionada ao documento PDF.
+	 * Coleta os detalhes da requisição e da resposta em um registro compacto.
+	 * A tabela correspondente só é montada ao gerar o PDF.
 	 * </p>
 	 *
 	 * @param requestSpec A especificação da requisição.
 	 * @param response A resposta da requisição.
 	 */
 	private void logRequest(FilterableRequestSpecification requestSpec, Response response) {
-
-		// request
-		String method = requestSpec.getMethod();
-		String url = requestSpec.getURI();
-		String proxy = "";
-		if (requestSpec.getProxySpecification() != null) {
-			proxy = requestSpec.getProxySpecification().getHost() + ":" + requestSpec.getProxySpecification().getPort();
-		}
-
-		StringBuilder requestParamsSb = new StringBuilder();
-		for (Entry<String, String> entry : requestSpec.getRequestParams().entrySet()) {
-			requestParamsSb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-		}
-
-		StringBuilder queryParamsSb = new StringBuilder();
-		for (Entry<String, String> entry : requestSpec.getQueryParams().entrySet()) {
-			queryParamsSb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-		}
-
-		StringBuilder formParamsSb = new StringBuilder();
-		for (Entry<String, String> entry : requestSpec.getFormParams().entrySet()) {
-			formParamsSb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-		}
-
-		StringBuilder pathParamsSb = new StringBuilder();
-		for (Entry<String, String> entry : requestSpec.getPathParams().entrySet()) {
-			pathParamsSb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-		}
-
-		StringBuilder headers = new StringBuilder();
-		for (Header header : requestSpec.getHeaders().asList()) {
-			headers.append(header.getName()).append("=").append(header.getValue()).append("\n");
-		}
-
-		StringBuilder cookies = new StringBuilder();
-		for (Cookie cookie : requestSpec.getCookies().asList()) {
-			cookies.append(cookie.getName()).append("=").append(cookie.getValue()).append("\n");
-		}
-
-		StringBuilder multipartParams = new StringBuilder();
-		for (MultiPartSpecification m : requestSpec.getMultiPartParams()) {
-			multipartParams.append(m.getFileName()).append("\n");
-			multipartParams.append(m.getMimeType()).append("\n");
-			multipartParams.append(m.getContent()).append("\n");
-		}
-
-		String requestBody = requestSpec.getBody() != null ? requestSpec.getBody().toString() : "";
-
-		// response
-		int statusCode = response.getStatusCode();
-		String responseBody = response.getBody().asString();
-
-		Table table = new Table(UnitValue.createPercentArray(new float[] { 20, 80 }));
-		table.setWidth(UnitValue.createPercentValue(100));
-		table.setFixedLayout();
-
-		table.addCell("Request method");
-		table.addCell(method);
-		table.addCell("Request URI");
-		table.addCell(url);
-
-		if (!proxy.isEmpty()) {
-			table.addCell("Proxy");
-			table.addCell(proxy);
-		}
-		if (!requestParamsSb.toString().isEmpty()) {
-			table.addCell("Request params");
-			table.addCell(requestParamsSb.toString());
-		}
-		if (!queryParamsSb.toString().isEmpty()) {
-			table.addCell("Query params");
-			table.addCell(queryParamsSb.toString());
-		}
-		if (!formParamsSb.toString().isEmpty()) {
-			table.addCell("Form params");
-			table.addCell(formParamsSb.toString());
-		}
-
-		if (!pathParamsSb.toString().isEmpty()) {
-			table.addCell("Path params");
-			table.addCell(pathParamsSb.toString());
-		}
-
-		table.addCell("Headers");
-		table.addCell(headers.toString());
-
-		if (!cookies.toString().isEmpty()) {
-			table.addCell("Cookies");
-			table.addCell(cookies.toString());
-		}
-
-		if (!multipartParams.toString().isEmpty()) {
-			table.addCell("Multiparts");
-			table.addCell(multipartParams.toString());
-		}
-
-		table.addCell("Request Body");
-		table.addCell(requestBody);
-		table.addCell("Status Code");
-		table.addCell(Integer.toString(statusCode));
-		table.addCell("Response Body");
-		table.addCell(responseBody);
-
-		tables.add(table);
-
+		registros.add(new RegistroRequisicao(requestSpec, response));
 	}
 	// TODO: O método logRequest é uma função auxiliar que organiza os dados da requisição e resposta em uma estrutura de tabela.
 
@@ -230,7 +231,7 @@ public class PDFLoggerFilter implements Filter {
 
 		try (PdfWriter writer = new PdfWriter(pdfPath)) {
 			PdfDocument pdfDoc = new PdfDocument(writer);
-			Document document = new Document(pdfDoc);
+			Document document = new Document(pdfDoc, pdfDoc.getDefaultPageSize(), true);
 
 			Paragraph titulo = new Paragraph(scenarioId + ": " + scenarioName).setBold()
 					.setTextAlignment(TextAlignment.CENTER);
@@ -245,15 +246,21 @@ public class PDFLoggerFilter implements Filter {
 
 			document.add(status);
 
+			// Com immediateFlush (padrão do Document), cada tabela é renderizada e liberada ao ser adicionada,
+			// então só uma tabela por vez fica em memória.
+			List<RegistroRequisicao> snapshot;
+			synchronized (registros) {
+				snapshot = new ArrayList<>(registros);
+			}
 			int count = 1;
-			for (Table table : tables) {
+			for (RegistroRequisicao registro : snapshot) {
 				Paragraph tableCount = new Paragraph("Requisição: " + count).setBold()
 						.setTextAlignment(TextAlignment.CENTER);
 
 				document.add(tableCount);
-				document.add(table);
+				document.add(registro.criarTabela());
 
-				if (count < tables.size()) {
+				if (count < snapshot.size()) {
 					document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
 				}
 				count++;
@@ -268,5 +275,16 @@ public class PDFLoggerFilter implements Filter {
 
 	}
 
+	/**
+	 * <p>
+	 * Gera o PDF fora da thread do cenário, usando o executor de evidências.
+	 * </p>
+	 * @param passed Um booleano indicando se o cenário de teste passou (true) ou falhou (false).
+	 * @return Future com o caminho completo do arquivo PDF gerado.
+	 */
+	public CompletableFuture<String> closeDocumentAsync(Boolean passed) {
+		return CompletableFuture.supplyAsync(() -> closeDocument(passed), EvidenciaExecutor::executar);
+	}
+
 	// TODO: O método closeDocument é chamado ao final de um cenário de teste para finalizar e salvar o arquivo PDF de evidências.
 }
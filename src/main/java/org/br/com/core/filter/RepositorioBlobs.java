@@ -0,0 +1,127 @@
+package org.br.com.core.filter;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repositório de corpos HTTP endereçado por conteúdo, compartilhado por toda a execução.
+ * Cada corpo distinto é gravado uma única vez em target/evidence/blobs/&lt;hh&gt;/&lt;hash&gt;.body,
+ * onde o hash é o SHA-256 do conteúdo; payloads repetidos (logins, mensagens de erro) só geram uma
+ * referência. Evidências e relatórios apontam para o blob pelo hash em vez de repetir o corpo.
+ * Os corpos chegam em streaming ({@link GravacaoCorpo}): o hash é calculado enquanto o arquivo temporário
+ * é escrito, sem manter o corpo em memória.
+ * O hash só é devolvido depois que o blob existe em disco: quem grava o mesmo conteúdo em paralelo
+ * espera a gravação em andamento, e uma falha é repassada a todos em vez de gerar referências órfãs.
+ */
+@Log4j2
+public class RepositorioBlobs {
+
+	private static final Path DIRETORIO_BLOBS = Paths.get("target", "evidence", "blobs");
+
+	private static final Map<String, CompletableFuture<Void>> gravacoes = new ConcurrentHashMap<>();
+	private static final AtomicLong referencias = new AtomicLong();
+	private static final AtomicLong bytesGravados = new AtomicLong();
+	private static final AtomicLong bytesEvitados = new AtomicLong();
+
+	private RepositorioBlobs() {
+	}
+
+	/**
+	 * Calcula o hash do conteúdo e grava o blob caso ainda não exista.
+	 *
+	 * @return o hash (hex) que identifica o blob
+	 */
+	public static String armazenar(byte[] conteudo) throws IOException {
+		GravacaoCorpo gravacao = novaGravacao(0);
+		try {
+			gravacao.write(conteudo);
+		} catch (IOException | RuntimeException e) {
+			gravacao.descartar();
+			throw e;
+		}
+		return publicar(gravacao);
+	}
+
+	/**
+	 * Abre uma gravação no diretório do repositório (mesmo sistema de arquivos dos blobs, para a publicação
+	 * ser um move atômico). O conteúdo é escrito em streaming e publicado com {@link #publicar(GravacaoCorpo)}.
+	 */
+	static GravacaoCorpo novaGravacao(int bytesPrevia) throws IOException {
+		return new GravacaoCorpo(DIRETORIO_BLOBS, bytesPrevia);
+	}
+
+	/**
+	 * Fecha a gravação e a publica pelo hash do conteúdo; se o blob já existe, o arquivo temporário é apagado.
+	 *
+	 * @return o hash (hex) que identifica o blob
+	 */
+	static String publicar(GravacaoCorpo gravacao) throws IOException {
+		try {
+			gravacao.close();
+		} catch (IOException e) {
+			gravacao.descartar();
+			throw e;
+		}
+		String hash = gravacao.getHash();
+		long tamanho = gravacao.getTamanho();
+		referencias.incrementAndGet();
+		CompletableFuture<Void> publicacao = new CompletableFuture<>();
+		CompletableFuture<Void> existente = gravacoes.putIfAbsent(hash, publicacao);
+		if (existente != null) {
+			gravacao.descartar();
+			aguardar(existente, hash);
+			bytesEvitados.addAndGet(tamanho);
+			return hash;
+		}
+		Path destino = caminho(hash);
+		try {
+			if (Files.exists(destino)) {
+				// Já gravado por uma execução anterior no mesmo diretório target.
+				gravacao.descartar();
+				bytesEvitados.addAndGet(tamanho);
+			} else {
+				Files.createDirectories(destino.getParent());
+				gravacao.moverPara(destino);
+				bytesGravados.addAndGet(tamanho);
+			}
+			publicacao.complete(null);
+		} catch (IOException | RuntimeException e) {
+			// Libera o hash para uma nova tentativa e avisa quem estava esperando por esta gravação.
+			gravacoes.remove(hash, publicacao);
+			publicacao.completeExceptionally(e);
+			gravacao.descartar();
+			throw e;
+		}
+		return hash;
+	}
+
+	private static void aguardar(CompletableFuture<Void> gravacao, String hash) throws IOException {
+		try {
+			gravacao.join();
+		} catch (CompletionException | CancellationException e) {
+			throw new IOException("Falha ao gravar o blob " + hash, e.getCause() != null ? e.getCause() : e);
+		}
+	}
+
+	public static Path caminho(String hash) {
+		return DIRETORIO_BLOBS.resolve(hash.substring(0, 2)).resolve(hash + ".body");
+	}
+
+	public static void imprimirResumo() {
+		if (referencias.get() == 0) {
+			return;
+		}
+		log.info(String.format("Blobs de evidência: %d referências | %d distintos | %d bytes gravados | %d bytes evitados",
+				referencias.get(), gravacoes.size(), bytesGravados.get(), bytesEvitados.get()));
+	}
+}
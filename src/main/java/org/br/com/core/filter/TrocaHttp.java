@@ -0,0 +1,28 @@
+package org.br.com.core.filter;
+
+import lombok.Builder;
+import io.restassured.http.Header;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Registro imutável de uma requisição HTTP e sua resposta, capturado pelo {@link EvidenceFilter}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class TrocaHttp {
+	private final String method;
+	private final String uri;
+	// Headers da requisição como pares nome/valor, formatados e mascarados só na hora de exibir.
+	private final List<Header> headers;
+	private final String requestBody;
+	private final String statusCode;
+	private final String responseBody;
+	// Caminho do corpo completo gravado em disco (blob ou corpo acima do limite); nulo se está inteiro acima.
+	private final String requestBodyArquivo;
+	private final String responseBodyArquivo;
+	// Hash dos corpos no RepositorioBlobs (nulo com o repositório desabilitado), com o conteúdo completo mascarado.
+	private final String requestBodyHash;
+	private final String responseBodyHash;
+}
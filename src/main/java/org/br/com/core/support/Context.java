@@ -1,6 +1,10 @@
 package org.br.com.core.support;
 
-import java.util.HashMap;
+import lombok.extern.log4j.Log4j2;
+import org.br.com.core.support.logger.TemposExecucao;
+import org.br.com.test.sheets.cadastro.CadastroDataSheet;
+import org.br.com.test.sheets.login.LoginModel;
+
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -8,40 +12,56 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages the context for the entire test execution.
- * It uses ThreadLocal for scenario-specific data to ensure thread safety,
- * and thread-safe collections for run-wide data like counters and feature IDs.
+ * Scenario-specific data lives in the current {@link ContextoCenario} (created per scenario by HooksContexto;
+ * a task on another thread must receive it explicitly and run through ContextoCenario.executar), and
+ * thread-safe collections hold run-wide data like counters and feature IDs.
+ * Well-known scenario values use typed {@link Key}s; the String-keyed put/get remain for ad-hoc data.
+ * The two are separate stores, so String lookups of a name owned by a typed key are rejected instead of
+ * silently returning null.
  */
+@Log4j2
 public class Context {
 
-    // For scenario-specific data, isolated per thread
-    private static final ThreadLocal<Map<String, Object>> scenarioContext = ThreadLocal.withInitial(HashMap::new);
+    // --- Typed keys for scenario data ---
+
+    public static final Key<String> SCENARIO_ID = Key.of("scenarioId");
+    public static final Key<String> ID_USUARIO = Key.of("idUsuario");
+    public static final Key<LoginModel> DADOS_LOGIN = Key.of("data");
+    public static final Key<CadastroDataSheet> CADASTRO_SHEET = Key.of("cadastroSheet");
 
     // For data that spans the entire test run (shared across threads)
     private static final Map<String, String> featureUUIDs = new ConcurrentHashMap<>();
     private static final AtomicInteger passedTests = new AtomicInteger(0);
     private static final AtomicInteger failedTests = new AtomicInteger(0);
+    private static final AtomicInteger evidenciasGeradas = new AtomicInteger(0);
+    private static final AtomicInteger evidenciasDescartadas = new AtomicInteger(0);
 
     // --- Context Lifecycle Methods ---
 
     public static void startContext(String featureName, String scenarioName) {
         // This method can be expanded for more detailed logging or setup if needed.
-        // The main context setup is handled by ThreadLocal's lazy initialization.
+        // The scenario context itself is created and bound by HooksContexto (@Before(order = 0)).
     }
 
     public static void clearContext() {
-        // Clears the map for the current thread to prevent data leakage between scenarios.
+        // Clears the current scenario's data to prevent leakage between scenarios.
         // This is crucial and should be called in an @After hook.
-        scenarioContext.remove();
+        ContextoCenario.atual().limparDados();
     }
 
     public static void finishedContext(long duration) {
         // Placeholder for any end-of-run logic, like generating a final summary report.
-        System.out.println("==========================================");
-        System.out.println("Test Run Finished.");
-        System.out.println("Duration: " + duration + " ms");
-        System.out.println("Passed: " + passedTests.get());
-        System.out.println("Failed: " + failedTests.get());
-        System.out.println("==========================================");
+        // Goes through Log4j2 (and its masking policy) like every other console line.
+        log.info("==========================================");
+        log.info("Test Run Finished.");
+        log.info("Duration: {} ms", duration);
+        log.info("Passed: {}", passedTests.get());
+        log.info("Failed: {}", failedTests.get());
+        log.info("Evidences generated: {} | skipped by sampling: {}", evidenciasGeradas.get(), evidenciasDescartadas.get());
+        for (String linha : TemposExecucao.resumo()) {
+            log.info(linha);
+        }
+        log.info("==========================================");
     }
 
     // --- Counter Methods ---
@@ -49,7 +69,11 @@ public class Context {
     public static void resetCounters() {
         passedTests.set(0);
         failedTests.set(0);
+        evidenciasGeradas.set(0);
+        evidenciasDescartadas.set(0);
         featureUUIDs.clear();
+        ContextoCenario.limparSessoes();
+        TemposExecucao.limpar();
     }
 
     public static void incrementPassed() {
@@ -60,6 +84,14 @@ public class Context {
         failedTests.incrementAndGet();
     }
 
+    public static void incrementEvidenciasGeradas() {
+        evidenciasGeradas.incrementAndGet();
+    }
+
+    public static void incrementEvidenciasDescartadas() {
+        evidenciasDescartadas.incrementAndGet();
+    }
+
     // --- UUID and ID Management ---
 
     public static String getOrCreateFeatureUUID(String featureName) {
@@ -68,34 +100,116 @@ public class Context {
     }
 
     public static void setScenarioId(String id) {
-        put("scenarioId", id);
+        put(SCENARIO_ID, id);
     }
 
     // --- Generic Data Management ---
 
     public static void put(String key, Object value) {
-        scenarioContext.get().put(key, value);
+        ContextoCenario.atual().put(Key.verificarLivre(key), value);
     }
 
     public static Object get(String key) {
-        return scenarioContext.get().get(key);
+        return ContextoCenario.atual().get(Key.verificarLivre(key));
+    }
+
+    /**
+     * Number of typed slots. Calling it initializes this class, so every key above is registered first.
+     */
+    static int totalSlots() {
+        return Key.fecharRegistro();
+    }
+
+    public static <T> void put(Key<T> key, T value) {
+        ContextoCenario.atual().put(key, value);
+    }
+
+    public static <T> T get(Key<T> key) {
+        return ContextoCenario.atual().get(key);
     }
 
     // --- Specific Data Accessors (Convenience Methods) ---
 
-    public static void setData(Object data) {
-        put("data", data);
+    public static void setData(LoginModel data) {
+        put(DADOS_LOGIN, data);
     }
 
-    public static Object getData() {
-        return get("data");
+    public static LoginModel getData() {
+        return get(DADOS_LOGIN);
     }
 
     public static void setIdUsuario(String id) {
-        put("idUsuario", id);
+        put(ID_USUARIO, id);
     }
 
     public static String getIdUsuario() {
-        return (String) get("idUsuario");
+        return get(ID_USUARIO);
+    }
+
+    /**
+     * Typed key for scenario data, declared as a static final field of this class. Each key receives a fixed
+     * slot index when it is created; registration closes when the first scenario context is created, which
+     * sizes every context's slot array once. A read or write is then a single element access on a fixed-size
+     * AtomicReferenceArray (volatile semantics, so child tasks see the values), with no hashing, no lock and
+     * no resizing, and the value type is checked by the compiler instead of cast by the caller.
+     */
+    public static final class Key<T> {
+
+        private static final Map<String, Key<?>> porNome = new ConcurrentHashMap<>();
+        private static int nextSlot;
+        private static boolean registroFechado;
+
+        private final String name;
+        private final int slot;
+
+        private Key(String name, int slot) {
+            this.name = name;
+            this.slot = slot;
+        }
+
+        public static synchronized <T> Key<T> of(String name) {
+            if (registroFechado) {
+                throw new IllegalStateException("Context key '" + name + "' created after the first scenario context; "
+                        + "declare it as a static final field of Context");
+            }
+            if (porNome.containsKey(name)) {
+                throw new IllegalArgumentException("Context key name already in use: " + name);
+            }
+            Key<T> key = new Key<>(name, nextSlot++);
+            porNome.put(name, key);
+            return key;
+        }
+
+        /**
+         * Closes key registration and returns the number of slots every scenario context needs.
+         */
+        static synchronized int fecharRegistro() {
+            registroFechado = true;
+            return nextSlot;
+        }
+
+        /**
+         * Rejects String keys whose name belongs to a typed key (they live in different stores).
+         */
+        static String verificarLivre(String name) {
+            Key<?> key = porNome.get(name);
+            if (key != null) {
+                throw new IllegalArgumentException("'" + name + "' is a typed Context key; use " + key + " instead of the String API");
+            }
+            return name;
+        }
+
+        int getSlot() {
+            return slot;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "Key[" + name + "#" + slot + "]";
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package org.br.com.core.support;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Contexto de um cenário em execução: criado por {@link #iniciar(String, String)} no @Before de HooksContexto
+ * e desvinculado da thread por {@link #encerrar()} no @After correspondente.
+ *
+ * Guarda dois grupos de dados:
+ * <ul>
+ *   <li>dados do cenário ({@link Context}), descartados ao fim de cada cenário; as chaves tipadas
+ *   ({@link Context.Key}) ficam em um array indexado pelo slot da chave, as chaves String em um mapa;</li>
+ *   <li>estado de sessão dos managers (token, usuário, categoria, artigo), próprio do cenário.</li>
+ * </ul>
+ *
+ * As features encadeiam cenários (ex: login em um, uso do token no seguinte). O encadeamento é explícito e por
+ * cópia: ao encerrar, o cenário publica um instantâneo da sua sessão na cadeia a que pertence, e o próximo
+ * cenário da mesma cadeia começa com uma cópia desse instantâneo. A cadeia é a feature executada por uma
+ * thread do runner (URI do .feature + id da thread): cenários em paralelo, mesmo da mesma feature, estão em
+ * cadeias diferentes e nunca escrevem na sessão um do outro.
+ *
+ * Fora de um cenário não há contexto: {@link #atual()} falha em vez de criar um contexto vazio às escondidas,
+ * o que esconderia o estado que deveria ter sido herdado. Uma tarefa filha (outra thread) recebe o contexto
+ * explicitamente, capturado com {@link #atual()} na thread do cenário, e roda com {@link #executar(Runnable)}.
+ * ScopedValue ainda é preview no Java 21 (exigiria --enable-preview), por isso o vínculo com a thread
+ * é um único ThreadLocal, removido ao fim de cada cenário.
+ */
+public final class ContextoCenario {
+
+	private static final ThreadLocal<ContextoCenario> ATUAL = new ThreadLocal<>();
+	private static final int TOTAL_SLOTS = Context.totalSlots();
+	// Último instantâneo (imutável) da sessão publicado em cada cadeia, mantido até o fim da execução.
+	private static final Map<String, Map<String, Object>> SESSOES_PUBLICADAS = new ConcurrentHashMap<>();
+
+	private final String idCenario;
+	private final String cadeia;
+	private final Map<String, Object> dados = new ConcurrentHashMap<>();
+	// Tamanho fixo: o registro de Context.Key fecha quando esta classe é inicializada (ver Context.totalSlots).
+	// Cada posição é lida/escrita com semântica volatile, sem lock.
+	private final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(TOTAL_SLOTS);
+	private final Map<String, Object> sessao;
+
+	private ContextoCenario(String idCenario, String cadeia, Map<String, Object> sessao) {
+		this.idCenario = idCenario;
+		this.cadeia = cadeia;
+		this.sessao = sessao;
+	}
+
+	/**
+	 * Cria o contexto do cenário e o vincula à thread atual. A sessão começa como cópia do que o cenário
+	 * anterior da mesma cadeia (feature + thread do runner) publicou ao encerrar.
+	 */
+	public static ContextoCenario iniciar(String idCenario, String feature) {
+		String cadeia = feature + "#" + Thread.currentThread().threadId();
+		Map<String, Object> anterior = SESSOES_PUBLICADAS.getOrDefault(cadeia, Map.of());
+		ContextoCenario contexto = new ContextoCenario(idCenario, cadeia, new ConcurrentHashMap<>(anterior));
+		ATUAL.set(contexto);
+		return contexto;
+	}
+
+	/**
+	 * Ao fim do cenário, publica o instantâneo da sessão para o próximo cenário da cadeia e desvincula
+	 * o contexto da thread atual.
+	 */
+	public static void encerrar() {
+		ContextoCenario contexto = ATUAL.get();
+		if (contexto != null) {
+			SESSOES_PUBLICADAS.put(contexto.cadeia, Map.copyOf(contexto.sessao));
+		}
+		ATUAL.remove();
+	}
+
+	/**
+	 * Descarta as sessões publicadas de todas as cadeias (início de uma nova execução).
+	 */
+	public static void limparSessoes() {
+		SESSOES_PUBLICADAS.clear();
+	}
+
+	/**
+	 * Id do cenário vinculado à thread atual, ou null fora de um cenário (sem falhar, para uso em logs e eventos).
+	 */
+	public static String idAtual() {
+		ContextoCenario contexto = ATUAL.get();
+		return contexto != null ? contexto.idCenario : null;
+	}
+
+	/**
+	 * Contexto vinculado à thread atual.
+	 * @throws IllegalStateException se a thread não está executando um cenário nem uma tarefa com contexto
+	 */
+	public static ContextoCenario atual() {
+		ContextoCenario contexto = ATUAL.get();
+		if (contexto == null) {
+			throw new IllegalStateException("Nenhum ContextoCenario vinculado à thread '" + Thread.currentThread().getName()
+					+ "': use-o dentro de um cenário ou passe o contexto explicitamente com executar().");
+		}
+		return contexto;
+	}
+
+	/**
+	 * Executa a tarefa com este contexto vinculado à thread atual, restaurando o vínculo anterior ao final.
+	 */
+	public void executar(Runnable tarefa) {
+		ContextoCenario anterior = ATUAL.get();
+		ATUAL.set(this);
+		try {
+			tarefa.run();
+		} finally {
+			restaurar(anterior);
+		}
+	}
+
+	public <T> T executar(Callable<T> tarefa) throws Exception {
+		ContextoCenario anterior = ATUAL.get();
+		ATUAL.set(this);
+		try {
+			return tarefa.call();
+		} finally {
+			restaurar(anterior);
+		}
+	}
+
+	private static void restaurar(ContextoCenario anterior) {
+		if (anterior != null) {
+			ATUAL.set(anterior);
+		} else {
+			ATUAL.remove();
+		}
+	}
+
+	public String getIdCenario() {
+		return idCenario;
+	}
+
+	// --- Dados do cenário ---
+
+	public void put(String chave, Object valor) {
+		if (valor == null) {
+			dados.remove(chave);
+		} else {
+			dados.put(chave, valor);
+		}
+	}
+
+	public Object get(String chave) {
+		return dados.get(chave);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T get(Context.Key<T> chave) {
+		return (T) slots.get(chave.getSlot());
+	}
+
+	public <T> void put(Context.Key<T> chave, T valor) {
+		slots.set(chave.getSlot(), valor);
+	}
+
+	public void limparDados() {
+		dados.clear();
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, null);
+		}
+	}
+
+	// --- Estado de sessão (managers) ---
+
+	public void putSessao(String chave, Object valor) {
+		if (valor == null) {
+			sessao.remove(chave);
+		} else {
+			sessao.put(chave, valor);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T getSessao(String chave) {
+		return (T) sessao.get(chave);
+	}
+
+	public void removerSessao(String... chaves) {
+		for (String chave : chaves) {
+			sessao.remove(chave);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package org.br.com.core.support.logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.br.com.core.support.ContextoCenario;
+import org.br.com.test.utils.ExecucaoConfig;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Log estruturado de eventos da execução: um objeto JSON por linha em target/log/events.jsonl,
+ * ao lado dos logs de texto, para análise de tempos entre execuções com um parser de streaming.
+ * A escrita passa pelo logger assíncrono "eventos" do log4j2.xml (ring buffer + arquivo bufferizado),
+ * então quem registra o evento só monta a linha JSON.
+ *
+ * Campos comuns: ts (epoch millis), evento, cenario (id do Cucumber, lido do {@link ContextoCenario} da thread) e thread.
+ */
+public class EventosExecucao {
+
+	public static final String CENARIO_INICIO = "scenario_start";
+	public static final String CENARIO_FIM = "scenario_end";
+	public static final String HTTP = "http_exchange";
+	public static final String CARGA_DADOS = "data_load";
+	public static final String EVIDENCIA = "evidence_write";
+
+	private static final Logger eventos = LogManager.getLogger("eventos");
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final boolean HABILITADO = ExecucaoConfig.getBoolean("eventos.habilitado", true);
+
+	private EventosExecucao() {
+	}
+
+	/**
+	 * Indica se os eventos serão gravados. Quem monta campos com custo (tamanhos, boxing dos varargs)
+	 * no caminho de cada requisição deve consultar antes de chamar {@link #registrar}.
+	 */
+	public static boolean habilitado() {
+		return HABILITADO && eventos.isInfoEnabled();
+	}
+
+	/**
+	 * Registra um evento com campos adicionais em pares nome/valor.
+	 * Valores Number e Boolean são gravados como tipos JSON; os demais como texto.
+	 */
+	public static void registrar(String evento, Object... campos) {
+		registrarNoCenario(ContextoCenario.idAtual(), evento, campos);
+	}
+
+	/**
+	 * Como {@link #registrar}, para threads que não são a do cenário (ex: geração assíncrona de evidências).
+	 */
+	public static void registrarNoCenario(String idCenario, String evento, Object... campos) {
+		if (!habilitado()) {
+			return;
+		}
+		StringWriter linha = new StringWriter(128);
+		try (JsonGenerator gen = JSON_FACTORY.createGenerator(linha)) {
+			gen.writeStartObject();
+			gen.writeNumberField("ts", System.currentTimeMillis());
+			gen.writeStringField("evento", evento);
+			if (idCenario != null) {
+				gen.writeStringField("cenario", idCenario);
+			}
+			gen.writeStringField("thread", Thread.currentThread().getName());
+			for (int i = 0; i + 1 < campos.length; i += 2) {
+				String nome = String.valueOf(campos[i]);
+				Object valor = campos[i + 1];
+				if (valor == null) {
+					gen.writeNullField(nome);
+				} else if (valor instanceof Long || valor instanceof Integer) {
+					gen.writeNumberField(nome, ((Number) valor).longValue());
+				} else if (valor instanceof Number) {
+					gen.writeNumberField(nome, ((Number) valor).doubleValue());
+				} else if (valor instanceof Boolean) {
+					gen.writeBooleanField(nome, (Boolean) valor);
+				} else {
+					gen.writeStringField(nome, valor.toString());
+				}
+			}
+			gen.writeEndObject();
+		} catch (IOException e) {
+			return;
+		}
+		eventos.info(linha.toString());
+	}
+}
@@ -2,30 +2,56 @@ package org.br.com.core.support.logger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.br.com.test.utils.DataUtils;
+import org.br.com.test.utils.LogConfig;
+
+import java.util.function.Supplier;
 
 
 public class LogFormatter {
     private static final Logger logger = LogManager.getLogger(LogFormatter.class);
+
+    // Linha de step como mensagem parametrizada: com o Log4j garbage-free a mensagem é reaproveitada por thread
+    // e a hora vem do relógio em cache, então o caminho quente não concatena nem formata datas.
+    private static final String STEP = "[INFO] {} | '-- {}";
+    private static final String STEP_ERRO = "[INFO] {} | '-- ❌ ERRO: {}";
+    private static final String STEP_AVISO = "[INFO] {} | '-- ⚠️ AVISO: {}";
+    private static final String STEP_SUCESSO = "[INFO] {} | '-- ✅ {}";
     
     public static void logStep(String message) {
-        String formattedMessage = formatStepMessage(message);
-        logger.info(formattedMessage);
+        logger.info(STEP, DataUtils.getHoraAtual(), message);
+    }
+
+    /**
+     * Versão preguiçosa: o conteúdo (ex: corpo da resposta) só é montado se o nível INFO estiver habilitado,
+     * e é limitado a "log.mensagem.max.caracteres".
+     */
+    public static void logStep(Supplier<?> message) {
+        if (logger.isInfoEnabled()) {
+            logStep(limitar(String.valueOf(message.get())));
+        }
+    }
+
+    /**
+     * Mensagem parametrizada no padrão do Log4j ("{}"); a formatação só acontece se o nível INFO estiver habilitado.
+     */
+    public static void logStep(String format, Object... params) {
+        if (logger.isInfoEnabled()) {
+            logStep(limitar(ParameterizedMessage.format(format, params)));
+        }
     }
     
     public static void logError(String message) {
-        String formattedMessage = formatStepMessage("❌ ERRO: " + message);
-        logger.error(formattedMessage);
+        logger.error(STEP_ERRO, DataUtils.getHoraAtual(), message);
     }
     
     public static void logWarning(String message) {
-        String formattedMessage = formatStepMessage("⚠️ AVISO: " + message);
-        logger.warn(formattedMessage);
+        logger.warn(STEP_AVISO, DataUtils.getHoraAtual(), message);
     }
     
     public static void logSuccess(String message) {
-        String formattedMessage = formatStepMessage("✅ " + message);
-        logger.info(formattedMessage);
+        logger.info(STEP_SUCESSO, DataUtils.getHoraAtual(), message);
     }
     
     public static void logRequest(String method, String url, String body) {
@@ -35,15 +61,33 @@ public class LogFormatter {
         }
     }
     
+    public static void logRequest(String method, String url, Supplier<String> body) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logRequest(method, url, limitar(body.get()));
+    }
+
     public static void logResponse(int statusCode, String responseBody) {
         logStep("Status Code: " + statusCode);
         if (responseBody != null && !responseBody.trim().isEmpty()) {
             logStep("Response: " + responseBody);
         }
     }
-    
-    private static String formatStepMessage(String message) {
-        return "[INFO] " + DataUtils.getHoraAtual() + " | '-- " + message;
+
+    public static void logResponse(int statusCode, Supplier<String> responseBody) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logResponse(statusCode, limitar(responseBody.get()));
+    }
+
+    private static String limitar(String message) {
+        int maximo = LogConfig.getTamanhoMaximoMensagem();
+        if (message == null || maximo <= 0 || message.length() <= maximo) {
+            return message;
+        }
+        return message.substring(0, maximo) + "... [" + (message.length() - maximo) + " caracteres omitidos]";
     }
     
     public static void logScenarioStart(String scenarioName) {
@@ -53,8 +97,7 @@ public class LogFormatter {
     public static void logScenarioEnd(String result) {
         String icon = "PASSED".equalsIgnoreCase(result) ? "✅" : "❌";
         // Garante que não haja duplicação de '--' e adiciona quebra de linha após o status
-        String formatted = formatStepMessage(icon + result);
-        logger.info(formatted);
+        logger.info("[INFO] {} | '-- {}{}", DataUtils.getHoraAtual(), icon, result);
         logger.info(""); // quebra de linha para separar cenários
     }
     
@@ -0,0 +1,190 @@
+package org.br.com.core.support.logger;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.br.com.test.utils.MascaramentoDados;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Política de rewrite do Log4j2 que mascara dados sensíveis em toda mensagem antes de chegar aos appenders.
+ * O padrão é montado uma única vez a partir do LogConfig (via {@link MascaramentoDados}): uma alternância
+ * com os nomes de campo habilitados ("senha: x", "token=x", "\"id\": \"x\""), o valor de "Bearer x" quando
+ * tokens são mascarados e e-mails soltos quando e-mails são mascarados. Cada mensagem é percorrida uma vez.
+ * Configurada no elemento Rewrite do log4j2.xml; roda na thread do logger assíncrono.
+ */
+@Plugin(name = "MascaramentoDados", category = Core.CATEGORY_NAME, elementType = "rewritePolicy", printObject = true)
+public final class MascaramentoRewritePolicy implements RewritePolicy {
+
+	private static final boolean MASCARAR_CAMPOS = !MascaramentoDados.getCampos().isEmpty();
+	private static final boolean MASCARAR_BEARER = MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.TOKEN);
+	private static final boolean MASCARAR_EMAIL = MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.EMAIL);
+	private static final Pattern PADRAO = montarPadrao();
+
+	private MascaramentoRewritePolicy() {
+	}
+
+	@PluginFactory
+	public static MascaramentoRewritePolicy createPolicy() {
+		return new MascaramentoRewritePolicy();
+	}
+
+	private static Pattern montarPadrao() {
+		List<String> alternativas = new ArrayList<>();
+		List<String> campos = new ArrayList<>(MascaramentoDados.getCampos());
+		if (MASCARAR_CAMPOS) {
+			// Nomes mais longos primeiro, para "idusuario" não parar em "id".
+			campos.sort(Comparator.comparingInt(String::length).reversed());
+			StringBuilder nomes = new StringBuilder();
+			for (String campo : campos) {
+				if (nomes.length() > 0) nomes.append('|');
+				nomes.append(Pattern.quote(campo));
+			}
+			alternativas.add("(?<![\\p{L}\\p{N}_])\"?(?<campo>" + nomes + ")\"?\\s*[:=]\\s*(?:Bearer\\s+)?(?:\"(?<aspas>[^\"]*)\"|(?<valor>[^\\s,;}&\"]+))");
+		}
+		if (MASCARAR_BEARER) {
+			alternativas.add("Bearer\\s+(?<bearer>[A-Za-z0-9._~+/=-]+)");
+		}
+		if (MASCARAR_EMAIL) {
+			alternativas.add("(?<email>[\\w.+-]+@[\\w-]+(?:\\.[\\w-]+)+)");
+		}
+		if (alternativas.isEmpty()) {
+			return null;
+		}
+		return Pattern.compile(String.join("|", alternativas), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+	}
+
+	/**
+	 * Mascara os dados sensíveis de um texto qualquer; devolve a mesma instância se nada foi alterado.
+	 */
+	public static String mascarar(String texto) {
+		if (PADRAO == null || texto == null || texto.isEmpty()) {
+			return texto;
+		}
+		Matcher m = PADRAO.matcher(texto);
+		if (!m.find()) {
+			return texto;
+		}
+		StringBuilder sb = new StringBuilder(texto.length());
+		int ultimo = 0;
+		do {
+			String grupo = grupoSensivel(m);
+			sb.append(texto, ultimo, m.start(grupo));
+			sb.append(MascaramentoDados.mascarar(tipoSensivel(m), m.group(grupo)));
+			ultimo = m.end(grupo);
+		} while (m.find());
+		sb.append(texto, ultimo, texto.length());
+		return sb.toString();
+	}
+
+	/**
+	 * Writer que mascara tudo o que recebe antes de repassar ao destino, para corpos grandes que não devem
+	 * virar uma única String. O texto é processado em blocos; o final de cada bloco só é liberado quando não
+	 * há ocorrência atravessando o corte, então um "campo: valor" dividido entre dois writes ainda é mascarado.
+	 * Fechar este writer libera o restante e fecha o destino.
+	 */
+	public static Writer escritor(Writer destino) {
+		return new EscritorMascarado(destino);
+	}
+
+	// Só consulta grupos que existem no padrão montado para as flags atuais.
+	private static String grupoSensivel(Matcher m) {
+		if (MASCARAR_CAMPOS && m.group("campo") != null) {
+			return m.group("aspas") != null ? "aspas" : "valor";
+		}
+		if (MASCARAR_BEARER && m.group("bearer") != null) {
+			return "bearer";
+		}
+		return "email";
+	}
+
+	private static MascaramentoDados.Tipo tipoSensivel(Matcher m) {
+		if (MASCARAR_CAMPOS && m.group("campo") != null) {
+			return MascaramentoDados.tipoDoCampo(m.group("campo"));
+		}
+		if (MASCARAR_BEARER && m.group("bearer") != null) {
+			return MascaramentoDados.Tipo.TOKEN;
+		}
+		return MascaramentoDados.Tipo.EMAIL;
+	}
+
+		@Override
+	public LogEvent rewrite(LogEvent source) {
+		String original = source.getMessage().getFormattedMessage();
+		String mascarada = mascarar(original);
+		if (mascarada == original) {
+			return source;
+		}
+		return new Log4jLogEvent.Builder(source).setMessage(new SimpleMessage(mascarada)).build();
+	}
+
+	private static final class EscritorMascarado extends Writer {
+
+		// Texto acumulado antes de mascarar um bloco.
+		private static final int BLOCO = 64 * 1024;
+		// Cauda mantida entre blocos: uma ocorrência que começa nela é decidida no bloco seguinte.
+		// Valores sensíveis entre aspas maiores que a margem não são reconhecidos se o corte cair dentro deles.
+		private static final int MARGEM = 16 * 1024;
+
+		private final Writer destino;
+		private final StringBuilder pendente = new StringBuilder(BLOCO + MARGEM);
+		// Cresce quando uma ocorrência longa segura o bloco, para não reprocessá-lo a cada write.
+		private int proximoBloco = BLOCO + MARGEM;
+
+		EscritorMascarado(Writer destino) {
+			this.destino = destino;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			pendente.append(cbuf, off, len);
+			if (pendente.length() >= proximoBloco) {
+				descarregar(false);
+				proximoBloco = Math.max(BLOCO + MARGEM, pendente.length() * 2);
+			}
+		}
+
+		private void descarregar(boolean fim) throws IOException {
+			int limite = fim ? pendente.length() : pendente.length() - MARGEM;
+			int ultimo = 0;
+			if (PADRAO != null) {
+				Matcher m = PADRAO.matcher(pendente);
+				while (m.find() && m.start() < limite) {
+					if (!fim && m.end() > limite) {
+						// Atravessa o corte: fica inteira para o próximo bloco.
+						limite = m.start();
+						break;
+					}
+					String grupo = grupoSensivel(m);
+					destino.append(pendente, ultimo, m.start(grupo));
+					destino.write(MascaramentoDados.mascarar(tipoSensivel(m), m.group(grupo)));
+					ultimo = m.end(grupo);
+				}
+			}
+			destino.append(pendente, ultimo, limite);
+			pendente.delete(0, limite);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			destino.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			descarregar(true);
+			destino.close();
+		}
+	}
+}
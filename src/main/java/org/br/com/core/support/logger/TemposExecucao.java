@@ -0,0 +1,140 @@
+package org.br.com.core.support.logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tempos de execução medidos com System.nanoTime (monotônico, imune a mudança de relógio e à virada do dia).
+ * Steps, cenários e features são registrados em histogramas compactos e os percentis entram no resumo
+ * de {@link org.br.com.core.support.Context#finishedContext(long)}.
+ * Não há estado por thread: quem mede guarda o instante inicial (ex: campo do hook, que é por cenário).
+ */
+public final class TemposExecucao {
+
+	private static final Histograma STEPS = new Histograma();
+	private static final Histograma CENARIOS = new Histograma();
+	private static final Histograma FEATURES = new Histograma();
+
+	// Janela [primeiro início, último fim] de cada feature; com execução paralela os cenários se sobrepõem.
+	private static final Map<String, long[]> janelasFeatures = new ConcurrentHashMap<>();
+
+	private TemposExecucao() {
+	}
+
+	public static void registrarStep(long nanos) {
+		STEPS.registrar(nanos);
+	}
+
+	public static void registrarCenario(String feature, long inicioNanos, long fimNanos) {
+		CENARIOS.registrar(fimNanos - inicioNanos);
+		janelasFeatures.compute(feature, (chave, janela) -> {
+			if (janela == null) {
+				return new long[] { inicioNanos, fimNanos };
+			}
+			janela[0] = Math.min(janela[0], inicioNanos);
+			janela[1] = Math.max(janela[1], fimNanos);
+			return janela;
+		});
+	}
+
+	/**
+	 * Linhas de resumo (uma por tipo medido) com contagem, percentis e máximo em milissegundos.
+	 */
+	public static String[] resumo() {
+		FEATURES.limpar();
+		for (long[] janela : janelasFeatures.values()) {
+			FEATURES.registrar(janela[1] - janela[0]);
+		}
+		return new String[] {
+				STEPS.resumo("Steps"),
+				CENARIOS.resumo("Scenarios"),
+				FEATURES.resumo("Features")
+		};
+	}
+
+	public static void limpar() {
+		STEPS.limpar();
+		CENARIOS.limpar();
+		FEATURES.limpar();
+		janelasFeatures.clear();
+	}
+
+	/**
+	 * Histograma log-linear: cada potência de 2 é dividida em 16 faixas, o que dá erro relativo
+	 * de até ~6% em qualquer escala (de nanos a horas) com um array fixo de contadores, sem guardar amostras.
+	 */
+	static final class Histograma {
+
+		private static final int SUB_BITS = 4;
+		private static final int SUB_FAIXAS = 1 << SUB_BITS;
+		private static final int FAIXAS = (64 - SUB_BITS) * SUB_FAIXAS;
+
+		private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+		private final AtomicLong total = new AtomicLong();
+		private final AtomicLong maximo = new AtomicLong();
+
+		void registrar(long nanos) {
+			long valor = Math.max(nanos, 0);
+			contagens.incrementAndGet(indice(valor));
+			total.incrementAndGet();
+			maximo.accumulateAndGet(valor, Math::max);
+		}
+
+		static int indice(long valor) {
+			if (valor < SUB_FAIXAS) {
+				return (int) valor;
+			}
+			int expoente = 63 - Long.numberOfLeadingZeros(valor);
+			int sub = (int) (valor >>> (expoente - SUB_BITS)) & (SUB_FAIXAS - 1);
+			return (expoente - SUB_BITS + 1) * SUB_FAIXAS + sub;
+		}
+
+		/** Maior valor que cai na faixa do índice. */
+		static long limiteSuperior(int indice) {
+			if (indice < SUB_FAIXAS) {
+				return indice;
+			}
+			int expoente = indice / SUB_FAIXAS + SUB_BITS - 1;
+			long largura = 1L << (expoente - SUB_BITS);
+			return (SUB_FAIXAS + indice % SUB_FAIXAS) * largura + largura - 1;
+		}
+
+		long percentil(double p) {
+			long quantidade = total.get();
+			if (quantidade == 0) {
+				return 0;
+			}
+			long alvo = Math.max(1, (long) Math.ceil(quantidade * p / 100.0));
+			long acumulado = 0;
+			for (int i = 0; i < FAIXAS; i++) {
+				acumulado += contagens.get(i);
+				if (acumulado >= alvo) {
+					return Math.min(limiteSuperior(i), maximo.get());
+				}
+			}
+			return maximo.get();
+		}
+
+		String resumo(String rotulo) {
+			if (total.get() == 0) {
+				return String.format("%-9s: n=0", rotulo);
+			}
+			return String.format("%-9s: n=%d | p50=%s | p90=%s | p99=%s | max=%s ms", rotulo, total.get(),
+					ms(percentil(50)), ms(percentil(90)), ms(percentil(99)), ms(maximo.get()));
+		}
+
+		void limpar() {
+			for (int i = 0; i < FAIXAS; i++) {
+				contagens.set(i, 0);
+			}
+			total.set(0);
+			maximo.set(0);
+		}
+
+		private static String ms(long nanos) {
+			return String.format("%.1f", nanos / 1_000_000.0);
+		}
+	}
+}
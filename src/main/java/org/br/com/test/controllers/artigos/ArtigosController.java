@@ -5,6 +5,7 @@ import io.restassured.response.Response;
 import org.br.com.core.support.logger.LogFormatter;
 import org.br.com.test.manager.ArtigosManager;
 import org.br.com.test.manager.CategoriaManager;
+import org.br.com.test.manager.RecursosCriadosManager;
 import org.br.com.test.manager.TokenManager;
 import org.br.com.test.manager.UsuarioManager;
 import org.br.com.core.filter.EvidenceFilter;
@@ -44,9 +45,12 @@ public class ArtigosController {
 
 		String artigoId = response.jsonPath().getString("id");
 		ArtigosManager.setArtigoId(artigoId);
+		if (response.getStatusCode() == 201) {
+			RecursosCriadosManager.registrarArtigo(artigoId);
+		}
 		LogFormatter.logStep("Artigo ID: " + artigoId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void validarStatusCodeArtigos(int statusCodeEsperado) {
@@ -84,7 +88,7 @@ public class ArtigosController {
 				.extract().response();
 
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void buscarArtigoPorId() {
@@ -101,7 +105,7 @@ public class ArtigosController {
 				.get(ENDPOINT_ARTIGOS + "/" + artigoId);
 
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void atualizarArtigoPorId() {
@@ -121,7 +125,7 @@ public class ArtigosController {
 				.put(ENDPOINT_ARTIGOS + "/" + artigoId);
 
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void excluirArtigoPorId() {
@@ -136,9 +140,12 @@ public class ArtigosController {
 				.baseUri(BASE_URL)
 				.when()
 				.delete(ENDPOINT_ARTIGOS + "/" + artigoId);
+		if (response.getStatusCode() == 204) {
+			RecursosCriadosManager.removerArtigo(artigoId);
+		}
 
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void excluirArtigosEmMassa(String id) {
@@ -152,8 +159,11 @@ public class ArtigosController {
 				.baseUri(BASE_URL)
 				.when()
 				.delete(ENDPOINT_ARTIGOS + "/" + id);
+		if (response.getStatusCode() == 204) {
+			RecursosCriadosManager.removerArtigo(id);
+		}
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void validarStatusCodeExclusao(int statusCodeEsperado) {
@@ -179,10 +189,13 @@ public class ArtigosController {
 		String categoriaId = response.jsonPath().getString("id");
 		String nomeCategoria = categoriaRequest.get("nome");
 		ArtigosManager.setCategoriaId(categoriaId);
+		if (response.getStatusCode() == 201) {
+			RecursosCriadosManager.registrarCategoria(categoriaId);
+		}
 		ArtigosManager.setNomeCategoria(nomeCategoria);
 		LogFormatter.logStep("Categoria ID: " + categoriaId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 }
@@ -5,6 +5,7 @@ import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.br.com.core.support.logger.LogFormatter;
 import org.br.com.test.manager.CategoriaManager;
+import org.br.com.test.manager.RecursosCriadosManager;
 import org.br.com.test.manager.TokenManager;
 import org.br.com.core.filter.EvidenceFilter;
 import org.br.com.test.utils.JavaFaker;
@@ -48,12 +49,15 @@ public class CategoriaController {
 		CategoriaManager.setNomeCategoria(nome);
 		CategoriaManager.setDescricaoCategoria(descricao);
 		CategoriaManager.setCategoriaId(categoriaId);
+		if (response.getStatusCode() == 201) {
+			RecursosCriadosManager.registrarCategoria(categoriaId);
+		}
 
 		LogFormatter.logStep("Categoria ID: " + categoriaId);
 		LogFormatter.logStep("Nome: " + nome);
 		LogFormatter.logStep("Descrição: " + descricao);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.prettyPrint());
+		LogFormatter.logStep(response::prettyPrint);
 	}
 
 	public void validarStatusCodeCategoria(int statusCode) {
@@ -76,7 +80,7 @@ public class CategoriaController {
 				.then()
 				.extract().response();
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.prettyPrint());
+		LogFormatter.logStep(response::prettyPrint);
 	}
 
 	public void buscarCategoriaPorId() {
@@ -91,7 +95,7 @@ public class CategoriaController {
 				.when()
 				.get(ENDPOINT_CATEGORIA + "/" + categoriaId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void atualizarCategoriaPorId() {
@@ -109,7 +113,7 @@ public class CategoriaController {
 				.when()
 				.put(ENDPOINT_CATEGORIA + "/" + categoriaId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void excluirCategoriaPorId() {
@@ -123,8 +127,11 @@ public class CategoriaController {
 				.baseUri(BASE_URL)
 				.when()
 				.delete(ENDPOINT_CATEGORIA + "/" + categoriaId);
+		if (response.getStatusCode() == 204) {
+			RecursosCriadosManager.removerCategoria(categoriaId);
+		}
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
+		LogFormatter.logStep(response::asString);
 	}
 
 	public void excluirCategoriaEmMassa(String id) {
@@ -138,8 +145,10 @@ public class CategoriaController {
 				.baseUri(BASE_URL)
 				.when()
 				.delete(ENDPOINT_CATEGORIA + "/" + id);
+		if (response.getStatusCode() == 204) {
+			RecursosCriadosManager.removerCategoria(id);
+		}
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.asString());
-
+		LogFormatter.logStep(response::asString);
 	}
 }
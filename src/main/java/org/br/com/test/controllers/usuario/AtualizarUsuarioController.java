@@ -51,7 +51,7 @@ public class AtualizarUsuarioController {
 				.when()
 				.put(ENDPOINT_USUARIOS + "/" + userId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.getBody().asPrettyString());
+		LogFormatter.logStep(() -> response.getBody().asPrettyString());
 	}
 
 	public void atualizarUsuarioSemId() {
@@ -69,7 +69,7 @@ public class AtualizarUsuarioController {
 				.when()
 				.put(ENDPOINT_USUARIOS + "/" + userId);
 		// Log do body da resposta formatado em JSON
-		LogFormatter.logStep(response.getBody().asPrettyString());
+		LogFormatter.logStep(() -> response.getBody().asPrettyString());
 	}
 
 	public void validarStatusCode(int statusCode) {
@@ -87,7 +87,7 @@ public class AtualizarUsuarioController {
 				.get(ENDPOINT_USUARIOS);
 
 		LogFormatter.logStep("Requisição GET para listar usuários SEM autenticação enviada.");
-		LogFormatter.logStep(response.getBody().asPrettyString());
+		LogFormatter.logStep(() -> response.getBody().asPrettyString());
 	}
 
 	public void validarPresencaDePeloMenosUmaMensagemDeErro(String mensagensEsperadas) {
@@ -102,10 +102,10 @@ public class AtualizarUsuarioController {
 			// Se uma mensagem foi encontrada, o log agora pode dizer QUAL foi.
 			LogFormatter.logStep("Validação de pelo menos uma mensagem de erro realizada com sucesso.");
 			LogFormatter.logStep("Mensagem encontrada que satisfez a condição: '" + mensagemEncontrada.get() + "'");
-			LogFormatter.logStep("Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
+			LogFormatter.logStep(() -> "Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
 		} else {
 			// Se nenhuma foi encontrada, a falha continua a mesma.
-			LogFormatter.logStep("CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
+			LogFormatter.logStep(() -> "CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
 			fail("Nenhuma das mensagens de erro esperadas foi encontrada na resposta da API. Esperado (qualquer uma): " + listaMensagensEsperadas);
 		}
 	}
@@ -32,8 +32,8 @@ public class ConsultarUsuarioController {
 
 	public ConsultarUsuarioController() {
 		// Esta parte está perfeita, carregando os dados necessários.
-		this.cadastroDataSheet = (CadastroDataSheet) Context.get("cadastroSheet");
-		this.loginModel = (LoginModel) Context.getData();
+		this.cadastroDataSheet = Context.get(Context.CADASTRO_SHEET);
+		this.loginModel = Context.getData();
 		this.response = null;
 	}
 
@@ -57,7 +57,7 @@ public class ConsultarUsuarioController {
 				.when()
 				.get(ENDPOINT_USUARIOS + "/" + idUsuario);
 
-		LogFormatter.logStep("Resposta recebida:\n" + response.asPrettyString());
+		LogFormatter.logStep(() -> "Resposta recebida:\n" + response.asPrettyString());
 	}
 
 	// ... O restante da classe com os outros métodos e validações permanece o mesmo ...
@@ -113,7 +113,7 @@ public class ConsultarUsuarioController {
 			LogFormatter.logStep("Validação de mensagem de erro realizada com sucesso.");
 			LogFormatter.logStep("Mensagem encontrada: '" + mensagemEncontrada.get() + "'");
 		} else {
-			LogFormatter.logStep("CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
+			LogFormatter.logStep(() -> "CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
 			fail("Nenhuma das mensagens de erro esperadas foi encontrada. Esperado (qualquer uma): " + listaMensagensEsperadas);
 		}
 	}
@@ -2,6 +2,7 @@ package org.br.com.test.controllers.usuario;
 
 import io.restassured.response.Response;
 import org.br.com.core.support.logger.LogFormatter;
+import org.br.com.test.manager.RecursosCriadosManager;
 import org.br.com.test.manager.TokenManager;
 import org.br.com.test.manager.UsuarioManager;
 import org.br.com.test.model.error.field.ErrorFieldModel;
@@ -39,6 +40,10 @@ public class ExcluirUsuarioController {
 				.baseUri(BASE_URL)
 				.when()
 				.delete(ENDPOINT_USUARIOS + "/" + idUsuario);
+
+		if (response.getStatusCode() == 204) {
+			RecursosCriadosManager.removerUsuario(idUsuario);
+		}
 	}
 
 	public void excluirUsuarioPorIdSemAutenticacao() {
@@ -52,7 +57,7 @@ public class ExcluirUsuarioController {
 				.when()
 				.delete(ENDPOINT_USUARIOS + "/" + idUsuario);
 
-		LogFormatter.logStep(response.getBody().asPrettyString());
+		LogFormatter.logStep(() -> response.getBody().asPrettyString());
 	}
 
 
@@ -74,10 +79,10 @@ public class ExcluirUsuarioController {
 			// Se uma mensagem foi encontrada, o log agora pode dizer QUAL foi.
 			LogFormatter.logStep("Validação de pelo menos uma mensagem de erro realizada com sucesso.");
 			LogFormatter.logStep("Mensagem encontrada que satisfez a condição: '" + mensagemEncontrada.get() + "'");
-			LogFormatter.logStep("Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
+			LogFormatter.logStep(() -> "Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
 		} else {
 			// Se nenhuma foi encontrada, a falha continua a mesma.
-			LogFormatter.logStep("CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
+			LogFormatter.logStep(() -> "CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
 			fail("Nenhuma das mensagens de erro esperadas foi encontrada na resposta da API. Esperado (qualquer uma): " + listaMensagensEsperadas);
 		}
 	}
@@ -4,6 +4,7 @@ package org.br.com.test.controllers.usuario;
 import io.restassured.http.Header;
 import io.restassured.response.Response;
 import org.br.com.core.support.logger.LogFormatter;
+import org.br.com.test.manager.RecursosCriadosManager;
 import org.br.com.test.manager.UsuarioManager;
 import org.br.com.test.model.error.field.ErrorFieldModel;
 import org.br.com.test.model.error.field.ErrorResponse;
@@ -51,6 +52,7 @@ public class GerarUsuarioController {
 			UsuarioManager.setNomeUsuario(usuarioGerado.getNomeUsuario());
 			String userId = response.jsonPath().getString("id");
 			UsuarioManager.setIdUsuario(userId);
+			RecursosCriadosManager.registrarUsuario(userId);
 			LogFormatter.logStep("Usuario ID: " + userId);
 		}
 	}
@@ -101,7 +103,7 @@ public class GerarUsuarioController {
 			boolean mensagemEncontrada = errorResponse.getErrors().stream()
 				.anyMatch(e -> mensagemEsperada.equals(e.getMsg()));
 			if (!mensagemEncontrada) {
-				System.out.println("Body erro: " + body);
+				LogFormatter.logError("Body erro: " + body);
 			}
 			assertTrue("Mensagem de erro não encontrada: " + mensagemEsperada, mensagemEncontrada);
 			LogFormatter.logStep("Validação da mensagem de erro '" + mensagemEsperada + "' realizada com sucesso.");
@@ -112,7 +114,7 @@ public class GerarUsuarioController {
 			boolean mensagemEncontrada = errorResponse.getErros().stream()
 				.anyMatch(e -> mensagemEsperada.equals(e.getMensagem()));
 			if (!mensagemEncontrada) {
-				System.out.println("Body erro: " + body);
+				LogFormatter.logError("Body erro: " + body);
 			}
 			assertTrue("Mensagem de erro não encontrada: " + mensagemEsperada, mensagemEncontrada);
 			LogFormatter.logStep("Validação da mensagem de erro '" + mensagemEsperada + "' realizada com sucesso.");
@@ -124,7 +126,7 @@ public class GerarUsuarioController {
 			LogFormatter.logStep("Validação da mensagem de erro '" + mensagemEsperada + "' realizada com sucesso.");
 			return;
 		}
-		System.out.println("Body erro: " + body);
+		LogFormatter.logError("Body erro: " + body);
 		fail("Nenhum erro encontrado na resposta da API.");
 	}
 
@@ -161,6 +163,7 @@ public class GerarUsuarioController {
             UsuarioManager.setNomeUsuario(usuarioRequest.getNomeUsuario());
             String userId = response.jsonPath().getString("id");
             UsuarioManager.setIdUsuario(userId);
+            RecursosCriadosManager.registrarUsuario(userId);
             LogFormatter.logStep("Usuario ID: " + userId);
         }
     }
@@ -209,7 +212,7 @@ public class GerarUsuarioController {
             boolean mensagemEncontrada = errorResponse.getErrors().stream()
                 .anyMatch(e -> mensagemEsperada.equals(e.getMsg()));
             if (!mensagemEncontrada) {
-                System.out.println("Body erro: " + body);
+                LogFormatter.logError("Body erro: " + body);
             }
             assertTrue("Mensagem de erro não encontrada: " + mensagemEsperada, mensagemEncontrada);
             return;
@@ -219,12 +222,12 @@ public class GerarUsuarioController {
             boolean mensagemEncontrada = errorResponse.getErros().stream()
                 .anyMatch(e -> mensagemEsperada.equals(e.getMensagem()));
             if (!mensagemEncontrada) {
-                System.out.println("Body erro: " + body);
+                LogFormatter.logError("Body erro: " + body);
             }
             assertTrue("Mensagem de erro não encontrada: " + mensagemEsperada, mensagemEncontrada);
             return;
         }
-        System.out.println("Body erro: " + body);
+        LogFormatter.logError("Body erro: " + body);
         fail("Nenhum erro encontrado na resposta da API.");
     }
 
@@ -250,7 +253,7 @@ public class GerarUsuarioController {
             .anyMatch(m -> mensagensBody.contains(m));
 
         if (!algumaEncontrada) {
-            System.out.println("Body erro: " + body);
+            LogFormatter.logError("Body erro: " + body);
         }
         assertTrue("Nenhuma das mensagens esperadas foi encontrada: " + Arrays.toString(mensagensEsperadas), algumaEncontrada);
     }
@@ -39,7 +39,7 @@ public class ListarUsuarioController {
 	 * Inicializa o loginModel a partir do Contexto e a resposta como nula.
 	 */
 	public ListarUsuarioController() {
-		loginModel = (LoginModel) Context.getData();
+		loginModel = Context.getData();
 		response = null;
 	}
 	/**
@@ -60,7 +60,7 @@ public class ListarUsuarioController {
 				.then()
 				.extract().response();
 
-		LogFormatter.logStep(response.getBody().asPrettyString().substring(1, 267) + "...");
+		LogFormatter.logStep(() -> response.getBody().asPrettyString().substring(1, 267) + "...");
 	}
 
 	/**
@@ -109,11 +109,11 @@ public class ListarUsuarioController {
 			LogFormatter.logStep("Validação de pelo menos uma mensagem de erro realizada com sucesso.");
 			LogFormatter.logStep("Mensagem encontrada que satisfez a condição: '" + mensagemEncontrada.get() + "'");
 			// TODO: Loga o corpo completo da resposta de erro para depuração.
-			LogFormatter.logStep("Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
+			LogFormatter.logStep(() -> "Corpo da Resposta de Erro Validado:\n" + response.getBody().asPrettyString());
 		} else {
 			// Se nenhuma foi encontrada, a falha continua a mesma.
 			// TODO: Loga o corpo do erro recebido antes de falhar o teste.
-			LogFormatter.logStep("CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
+			LogFormatter.logStep(() -> "CORPO DO ERRO RECEBIDO: " + response.getBody().asString());
 			fail("Nenhuma das mensagens de erro esperadas foi encontrada na resposta da API. Esperado (qualquer uma): " + listaMensagensEsperadas);
 		}
 	}
@@ -2,6 +2,7 @@ package org.br.com.test.controllers.usuario;
 
 import io.restassured.response.Response;
 import org.br.com.core.support.logger.LogFormatter;
+import org.br.com.test.manager.RecursosCriadosManager;
 import org.br.com.test.manager.TokenManager;
 import org.br.com.test.manager.UsuarioManager;
 import org.br.com.test.model.request.LoginRequest;
@@ -11,7 +12,7 @@ import org.br.com.core.filter.EvidenceFilter;
 import org.br.com.core.support.Context;
 import org.br.com.test.sheets.login.LoginModel;
 import org.br.com.test.sheets.cadastro.CadastroDataSheet;
-import org.br.com.test.utils.LogConfig;
+import org.br.com.test.utils.MascaramentoDados;
 import org.junit.Assert;
 
 import static io.restassured.RestAssured.given;
@@ -29,31 +30,23 @@ public class UsuarioController {
 
 	/**
 	 * Método auxiliar para obter a folha de dados de cadastro do contexto.
-	 * Centraliza a lógica de busca e casting.
-	 * TODO: Adicionar tratamento de exceção mais robusto para o casting.
-	 * TODO: Verificar se 'cadastroSheet' é a chave correta para o contexto.
 	 *
 	 * @return CadastroDataSheet se encontrado no contexto, caso contrário null.
-	 * @see org.br.com.core.support.Context
+	 * @see org.br.com.core.support.Context#CADASTRO_SHEET
 	 */
 	private CadastroDataSheet getCadastroSheet() {
-		Object sheet = Context.get("cadastroSheet");
-		if (sheet instanceof CadastroDataSheet) {
-			return (CadastroDataSheet) sheet;
-		}
-		return null; // Retorna nulo se não houver dados de cadastro no contexto
+		return Context.get(Context.CADASTRO_SHEET);
 	}
 
 	/**
 	 * Método auxiliar para obter os dados de login do contexto.
-	 * TODO: Garantir que LoginModel seja sempre o tipo esperado para Context.getData().
 	 *
 	 * @return LoginModel contendo os dados de login.
 	 * @throws IllegalStateException se os dados de login não forem encontrados no contexto. */
 	private LoginModel getDadosLoginExcel() {
-		Object data = Context.getData();
-		if (data instanceof LoginModel) {
-			return (LoginModel) data;
+		LoginModel data = Context.getData();
+		if (data != null) {
+			return data;
 		}
 		// Lança uma exceção clara se os dados de login (essenciais) não forem encontrados
 		throw new IllegalStateException("Dados de login (LoginModel) não encontrados no contexto.");
@@ -358,6 +351,7 @@ public class UsuarioController {
 			if (userId != null && !userId.isEmpty()) {
 				TokenManager.setUserId(userId);
 				UsuarioManager.setIdUsuario(userId);
+				RecursosCriadosManager.associarTokenUsuario(userId, token);
 				LogFormatter.logStep("✅ User ID salvo: " + mascararId(userId));
 			}
 
@@ -544,13 +538,8 @@ public class UsuarioController {
 	 * TODO: Validar a presença e o formato do token de autenticação. */
 	public void validarCorpoUsuarioLogadoComSucesso() {
 		// Obter ID esperado da planilha (ID real, não mascarado)
-		Object data = Context.getData();
-		String expectedId = null;
-
-		if (data instanceof LoginModel) {
-			LoginModel dadosExcel = (LoginModel) data;
-			expectedId = dadosExcel.getIdUsuario(); // ID real da planilha
-		}
+		LoginModel dadosExcel = Context.getData();
+		String expectedId = dadosExcel != null ? dadosExcel.getIdUsuario() : null; // ID real da planilha
 
 		// Validar que o ID retornado corresponde ao esperado
 		// Se o ID da planilha for um UUID válido (36 caracteres), validar exatamente
@@ -587,7 +576,7 @@ public class UsuarioController {
 				.statusCode(statusCode)
 				.body("erro", equalTo(mensagemEsperada));
 		LogFormatter.logStep("VALIDAÇÃO: Erro simples verificado com sucesso.");
-		LogFormatter.logStep("Corpo da Resposta de Erro:\n" + response.getBody().asPrettyString());
+		LogFormatter.logStep(() -> "Corpo da Resposta de Erro:\n" + response.getBody().asPrettyString());
 	}
 
 	/**
@@ -686,17 +675,7 @@ public class UsuarioController {
 		if (senha == null || senha.isEmpty()) {
 			return "***";
 		}
-
-		if (!LogConfig.isMascararSenha()) {
-			return senha;
-		}
-
-		int caracteresVisiveis = LogConfig.getCaracteresVisiveis();
-		if (senha.length() <= caracteresVisiveis * 2) {
-			return "***" + senha.substring(senha.length() - 1);
-		}
-
-		return senha.substring(0, caracteresVisiveis) + "***" + senha.substring(senha.length() - caracteresVisiveis);
+		return MascaramentoDados.mascararSeHabilitado(MascaramentoDados.Tipo.SENHA, senha);
 	}
 
 	/**
@@ -708,17 +687,7 @@ public class UsuarioController {
 		if (id == null || id.isEmpty()) {
 			return "***";
 		}
-
-		if (!LogConfig.isMascararId()) {
-			return id;
-		}
-
-		int caracteresVisiveis = LogConfig.getCaracteresVisiveis();
-		if (id.length() <= caracteresVisiveis * 2) {
-			return "***" + id.substring(id.length() - 1);
-		}
-
-		return id.substring(0, caracteresVisiveis) + "-****-****-" + id.substring(id.length() - caracteresVisiveis);
+		return MascaramentoDados.mascararSeHabilitado(MascaramentoDados.Tipo.ID, id);
 	}
 
 	/**
@@ -730,16 +699,6 @@ public class UsuarioController {
 		if (token == null || token.isEmpty()) {
 			return "***";
 		}
-
-		if (!LogConfig.isMascararToken()) {
-			return token;
-		}
-
-		int caracteresVisiveis = LogConfig.getCaracteresVisiveis();
-		if (token.length() <= caracteresVisiveis * 2) {
-			return "***" + token.substring(token.length() - 1);
-		}
-
-		return token.substring(0, caracteresVisiveis) + "****" + token.substring(token.length() - caracteresVisiveis);
+		return MascaramentoDados.mascararSeHabilitado(MascaramentoDados.Tipo.TOKEN, token);
 	}
 }
\ No newline at end of file
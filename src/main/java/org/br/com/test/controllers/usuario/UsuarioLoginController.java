@@ -46,7 +46,7 @@ public class UsuarioLoginController {
 	 * Inicializa o modelo de login a partir do contexto e a resposta como nula.
 	 */
 	public UsuarioLoginController() {
-		this.loginModel = (LoginModel) Context.getData();
+		this.loginModel = Context.getData();
 		this.response = null;
 	}
 
@@ -86,7 +86,7 @@ public class UsuarioLoginController {
 		setIdUsuario(userId);
 		// TODO: Documentar o log do token.
 		LogFormatter.logStep("Token: " + token);
-		LogFormatter.logStep(response.prettyPrint());
+		LogFormatter.logStep(response::prettyPrint);
 	}
 
 }
\ No newline at end of file
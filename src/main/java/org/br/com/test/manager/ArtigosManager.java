@@ -1,74 +1,71 @@
 package org.br.com.test.manager;
 
 import io.restassured.response.Response;
+import org.br.com.core.support.ContextoCenario;
 
 /**
  * Gerenciador de dados de artigos para test.
- * Utiliza ThreadLocal para garantir isolamento entre threads de teste.
+ * Os valores ficam na sessão do {@link ContextoCenario} atual, própria do cenário; o cenário seguinte da mesma cadeia recebe uma cópia.
  */
 public class ArtigosManager {
 
-	private static final ThreadLocal<String> artigoId = new ThreadLocal<String>();
-	private static final ThreadLocal<String> autorId = new ThreadLocal<String>();
-	private static final ThreadLocal<String> categoriaId = new ThreadLocal<String>();
-	private static final ThreadLocal<String> nomeCategoria = new ThreadLocal<String>();
-	private static final ThreadLocal<String> nomeAutor = new ThreadLocal<String>();
-	private static final ThreadLocal<Response> response = new ThreadLocal<Response>();
+	private static final String ARTIGO_ID = "artigos.artigoId";
+	private static final String AUTOR_ID = "artigos.autorId";
+	private static final String CATEGORIA_ID = "artigos.categoriaId";
+	private static final String NOME_CATEGORIA = "artigos.nomeCategoria";
+	private static final String NOME_AUTOR = "artigos.nomeAutor";
+	private static final String RESPONSE = "artigos.response";
 
 	public static String getArtigoId() {
-		return artigoId.get();
+		return ContextoCenario.atual().getSessao(ARTIGO_ID);
 	}
 
 	public static String getAutorId() {
-		return autorId.get();
+		return ContextoCenario.atual().getSessao(AUTOR_ID);
 	}
 
 	public static String getCategoriaId() {
-		return categoriaId.get();
+		return ContextoCenario.atual().getSessao(CATEGORIA_ID);
 	}
 
 	public static String getNomeCategoria() {
-		return nomeCategoria.get();
+		return ContextoCenario.atual().getSessao(NOME_CATEGORIA);
 	}
 
 	public static String getNomeAutor() {
-		return nomeAutor.get();
+		return ContextoCenario.atual().getSessao(NOME_AUTOR);
 	}
 
 	public static Response getResponse() {
-		return response.get();
+		return ContextoCenario.atual().getSessao(RESPONSE);
 	}
 
 	public static void setArtigoId(String id) {
-		artigoId.set(id);
+		ContextoCenario.atual().putSessao(ARTIGO_ID, id);
 	}
 
 	public static void setAutorId(String id) {
-		autorId.set(id);
+		ContextoCenario.atual().putSessao(AUTOR_ID, id);
 	}
 
 	public static void setCategoriaId(String id) {
-		categoriaId.set(id);
+		ContextoCenario.atual().putSessao(CATEGORIA_ID, id);
 	}
 
 	public static void setNomeCategoria(String nome) {
-		nomeCategoria.set(nome);
+		ContextoCenario.atual().putSessao(NOME_CATEGORIA, nome);
 	}
 
 	public static void setNomeAutor(String nome) {
-		nomeAutor.set(nome);
+		ContextoCenario.atual().putSessao(NOME_AUTOR, nome);
 	}
 
 	public static void setResponse(Response resp) {
-		response.set(resp);
+		ContextoCenario.atual().putSessao(RESPONSE, resp);
 	}
 
 	public static void remove() {
-		artigoId.remove();
-		autorId.remove();
-		categoriaId.remove();
-		nomeCategoria.remove();
-		nomeAutor.remove();
-		response.remove();
+		ContextoCenario.atual().removerSessao(ARTIGO_ID, AUTOR_ID, CATEGORIA_ID, NOME_CATEGORIA, NOME_AUTOR, RESPONSE);
 	}
+
 }
@@ -1,21 +1,23 @@
 package org.br.com.test.manager;
 
+import org.br.com.core.support.ContextoCenario;
+
 /**
  * Gerenciador de dados de categoria para test.
- * Utiliza ThreadLocal para garantir isolamento entre threads de teste.
+ * Os valores ficam na sessão do {@link ContextoCenario} atual, própria do cenário; o cenário seguinte da mesma cadeia recebe uma cópia.
  */
 public class CategoriaManager {
 
-	private static ThreadLocal<String> categoriaId = new ThreadLocal<String>();
-	private static ThreadLocal<String> nomeCategoria = new ThreadLocal<String>();
-	private static ThreadLocal<String> descricaoCategoria = new ThreadLocal<String>();
+	private static final String CATEGORIA_ID = "categoria.categoriaId";
+	private static final String NOME_CATEGORIA = "categoria.nomeCategoria";
+	private static final String DESCRICAO_CATEGORIA = "categoria.descricaoCategoria";
 
 	public static String getCategoriaId() {
-		return categoriaId.get();
+		return ContextoCenario.atual().getSessao(CATEGORIA_ID);
 	}
 
 	public static String getNomeCategoria() {
-		return nomeCategoria.get();
+		return ContextoCenario.atual().getSessao(NOME_CATEGORIA);
 	}
 
 	/**
@@ -23,25 +25,23 @@ public class CategoriaManager {
 	 * @return descrição da categoria
 	 */
 	public static String getDescricaoCategoria() {
-		return descricaoCategoria.get();
+		return ContextoCenario.atual().getSessao(DESCRICAO_CATEGORIA);
 	}
 
 	public static void setCategoriaId(String id) {
-		categoriaId.set(id);
+		ContextoCenario.atual().putSessao(CATEGORIA_ID, id);
 	}
 
 	public static void setNomeCategoria(String nome) {
-		nomeCategoria.set(nome);
+		ContextoCenario.atual().putSessao(NOME_CATEGORIA, nome);
 	}
 
 	public static void setDescricaoCategoria(String descricao) {
-		descricaoCategoria.set(descricao);
+		ContextoCenario.atual().putSessao(DESCRICAO_CATEGORIA, descricao);
 	}
 
 	public static void remove() {
-		categoriaId.remove();
-		nomeCategoria.remove();
-		descricaoCategoria.remove();
+		ContextoCenario.atual().removerSessao(CATEGORIA_ID, NOME_CATEGORIA, DESCRICAO_CATEGORIA);
 	}
 
 }
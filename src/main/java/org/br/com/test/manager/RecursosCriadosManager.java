@@ -0,0 +1,111 @@
+package org.br.com.test.manager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de todos os recursos (artigos, categorias e usuários) criados durante a execução.
+ * Diferente dos demais managers, não é por thread: os IDs são acumulados para a execução inteira
+ * e consumidos pela limpeza em massa no final da suíte (RunnerTestApi.afterClass).
+ * Cada ID guarda o token vigente no momento da criação, usado depois na exclusão. Recursos criados sem
+ * token (ex: cadastro de usuário) recebem o token do próprio dono quando ele faz login
+ * ({@link #associarTokenUsuario(String, String)}); os que continuarem sem token são excluídos pela
+ * LimpezaRecursosCriados com o token de limpeza.
+ */
+public class RecursosCriadosManager {
+
+	public enum TipoRecurso {
+		ARTIGO("/artigos"),
+		CATEGORIA("/categorias"),
+		USUARIO("/usuarios");
+
+		private final String endpoint;
+
+		TipoRecurso(String endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+	}
+
+	public static final String SEM_TOKEN = "";
+
+	private static final Map<TipoRecurso, Map<String, String>> recursos = new ConcurrentHashMap<>();
+
+	static {
+		for (TipoRecurso tipo : TipoRecurso.values()) {
+			recursos.put(tipo, new ConcurrentHashMap<>());
+		}
+	}
+
+	public static void registrarArtigo(String id) {
+		registrar(TipoRecurso.ARTIGO, id);
+	}
+
+	public static void registrarCategoria(String id) {
+		registrar(TipoRecurso.CATEGORIA, id);
+	}
+
+	public static void registrarUsuario(String id) {
+		registrar(TipoRecurso.USUARIO, id);
+	}
+
+	/**
+	 * Remove o recurso do registro quando ele já foi excluído pelo próprio cenário.
+	 */
+	public static void removerArtigo(String id) {
+		remover(TipoRecurso.ARTIGO, id);
+	}
+
+	public static void removerCategoria(String id) {
+		remover(TipoRecurso.CATEGORIA, id);
+	}
+
+	public static void removerUsuario(String id) {
+		remover(TipoRecurso.USUARIO, id);
+	}
+
+	public static void registrar(TipoRecurso tipo, String id) {
+		if (id == null || id.isEmpty()) {
+			return;
+		}
+		String token = TokenManager.getToken();
+		recursos.get(tipo).put(id, token != null ? token : SEM_TOKEN);
+	}
+
+	public static void remover(TipoRecurso tipo, String id) {
+		if (id != null) {
+			recursos.get(tipo).remove(id);
+		}
+	}
+
+	/**
+	 * Associa ao usuário pendente o token do seu próprio login, para que a limpeza o exclua com a identidade correta.
+	 * Só preenche registros sem token; um token já associado não é substituído.
+	 */
+	public static void associarTokenUsuario(String idUsuario, String token) {
+		if (idUsuario == null || token == null || token.isEmpty()) {
+			return;
+		}
+		recursos.get(TipoRecurso.USUARIO).replace(idUsuario, SEM_TOKEN, token);
+	}
+
+	/**
+	 * Retorna uma cópia (id -> token) dos recursos pendentes do tipo informado.
+	 * Recursos sem token do dono vêm com {@link #SEM_TOKEN}.
+	 */
+	public static Map<String, String> getPendentes(TipoRecurso tipo) {
+		return new LinkedHashMap<>(recursos.get(tipo));
+	}
+
+	public static int getTotalPendentes() {
+		return recursos.values().stream().mapToInt(Map::size).sum();
+	}
+
+	public static void limpar() {
+		recursos.values().forEach(Map::clear);
+	}
+}
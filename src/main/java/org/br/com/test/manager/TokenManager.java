@@ -1,28 +1,34 @@
 package org.br.com.test.manager;
 
+import org.br.com.core.support.ContextoCenario;
+
+/**
+ * Estado de autenticação do cenário, guardado na sessão do {@link ContextoCenario} atual
+ * (própria do cenário; o cenário seguinte da mesma cadeia recebe uma cópia).
+ */
 public class TokenManager {
-	private static final ThreadLocal<String> token = new ThreadLocal<>();
-	private static final ThreadLocal<String> userId = new ThreadLocal<>();
 
-	public static String getToken() {
-        return token.get();
-    }
+	private static final String TOKEN = "token.token";
+	private static final String USER_ID = "token.userId";
 
-	public static void setToken(String tk) {
-        token.set(tk);
-    }
+	public static String getToken() {
+		return ContextoCenario.atual().getSessao(TOKEN);
+	}
 
 	public static String getUserId() {
-        return userId.get();
-    }
+		return ContextoCenario.atual().getSessao(USER_ID);
+	}
+
+	public static void setToken(String tk) {
+		ContextoCenario.atual().putSessao(TOKEN, tk);
+	}
 
 	public static void setUserId(String id) {
-        userId.set(id);
-    }
+		ContextoCenario.atual().putSessao(USER_ID, id);
+	}
 
 	public static void remove() {
-        token.remove();
-        userId.remove();
-    }
+		ContextoCenario.atual().removerSessao(TOKEN, USER_ID);
+	}
 
 }
@@ -1,82 +1,78 @@
 package org.br.com.test.manager;
 
+import org.br.com.core.support.ContextoCenario;
 import org.br.com.test.model.request.UsuarioRequest;
 
+/**
+ * Estado de usuário do cenário, guardado na sessão do {@link ContextoCenario} atual
+ * (própria do cenário; o cenário seguinte da mesma cadeia recebe uma cópia).
+ */
 public class UsuarioManager {
 
-	private static ThreadLocal<String> emailUsuario = new ThreadLocal<String>();
+	private static final String EMAIL_USUARIO = "usuario.email";
+	private static final String SENHA_USUARIO = "usuario.senha";
+	private static final String ID_USUARIO = "usuario.id";
+	private static final String NOME_COMPLETO_USUARIO = "usuario.nomeCompleto";
+	private static final String NOME_USUARIO = "usuario.nomeUsuario";
 
-	private static ThreadLocal<String> senhaUsuario = new ThreadLocal<String>();
-
-	private static ThreadLocal<String> idUsuario = new ThreadLocal<String>();
-
-	private static ThreadLocal<String> nomeCompletoUsuario = new ThreadLocal<String>();
-
-	private static ThreadLocal<String> nomeUsuario = new ThreadLocal<String>();
-
-	public static String getEmailUsuario(){
-		return emailUsuario.get();
+	public static String getEmailUsuario() {
+		return ContextoCenario.atual().getSessao(EMAIL_USUARIO);
 	}
 
-	public static void setEmailUsuario(String tk){
-		emailUsuario.set(tk);
+	public static String getSenhaUsuario() {
+		return ContextoCenario.atual().getSessao(SENHA_USUARIO);
 	}
 
-	public static String getSenhaUsuario(){
-		return senhaUsuario.get();
+	public static String getIdUsuario() {
+		return ContextoCenario.atual().getSessao(ID_USUARIO);
 	}
 
-	public static void setSenhaUsuario(String tk){
-		senhaUsuario.set(tk);
+	/**
+	 * Retorna o nome completo do usuário cadastrado/logado no cenário atual.
+	 * @return nome completo do usuário
+	 */
+	public static String getNomeCompletoUsuario() {
+		return ContextoCenario.atual().getSessao(NOME_COMPLETO_USUARIO);
 	}
 
-	public static String getIdUsuario(){
-		return idUsuario.get();
+	public static String getNomeUsuario() {
+		return ContextoCenario.atual().getSessao(NOME_USUARIO);
 	}
 
-	public static void setIdUsuario(String tk){
-		idUsuario.set(tk);
+	public static void setEmailUsuario(String tk) {
+		ContextoCenario.atual().putSessao(EMAIL_USUARIO, tk);
 	}
 
-	/**
-	 * Retorna o nome completo do usuário cadastrado/logado no cenário atual.
-	 * @return nome completo do usuário
-	 */
-	public static String getNomeCompletoUsuario(){
-		return nomeCompletoUsuario.get();
+	public static void setSenhaUsuario(String tk) {
+		ContextoCenario.atual().putSessao(SENHA_USUARIO, tk);
 	}
 
-	public static void setNomeCompletoUsuario(String nome){
-		nomeCompletoUsuario.set(nome);
+	public static void setIdUsuario(String tk) {
+		ContextoCenario.atual().putSessao(ID_USUARIO, tk);
 	}
 
-	public static String getNomeUsuario(){
-		return nomeUsuario.get();
+	public static void setNomeCompletoUsuario(String nome) {
+		ContextoCenario.atual().putSessao(NOME_COMPLETO_USUARIO, nome);
 	}
 
-	public static void setNomeUsuario(String nome){
-		nomeUsuario.set(nome);
+	public static void setNomeUsuario(String nome) {
+		ContextoCenario.atual().putSessao(NOME_USUARIO, nome);
 	}
 
-	public static void remove(){
-		emailUsuario.remove();
-		senhaUsuario.remove();
-		idUsuario.remove();
-		nomeCompletoUsuario.remove();
-		nomeUsuario.remove();
+	public static void remove() {
+		ContextoCenario.atual().removerSessao(EMAIL_USUARIO, SENHA_USUARIO, ID_USUARIO, NOME_COMPLETO_USUARIO, NOME_USUARIO);
 	}
 
-    /**
-     * Retorna um UsuarioRequest com os dados atualmente armazenados.
-     */
-    public static UsuarioRequest getUsuarioAtual() {
-        return UsuarioRequest.builder()
-            .email(getEmailUsuario())
-            .senha(getSenhaUsuario())
-            .nomeCompleto(getNomeCompletoUsuario())
-            .nomeUsuario(getNomeUsuario())
-            .build();
-    }
+	/**
+	 * Retorna um UsuarioRequest com os dados atualmente armazenados.
+	 */
+	public static UsuarioRequest getUsuarioAtual() {
+		return UsuarioRequest.builder()
+			.email(getEmailUsuario())
+			.senha(getSenhaUsuario())
+			.nomeCompleto(getNomeCompletoUsuario())
+			.nomeUsuario(getNomeUsuario())
+			.build();
+	}
 
 }
-
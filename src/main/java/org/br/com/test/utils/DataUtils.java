@@ -4,24 +4,25 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class DataUtils {
-    private static final DateTimeFormatter HORA_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
-    private static final DateTimeFormatter DATA_HORA_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
-    // >>> NOVO FORMATADOR COM MILISSEGUNDOS <<<
-    private static final DateTimeFormatter HORA_COM_MILIS_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss:SSS");
+    // Relógios em cache para os formatos usados a cada linha de log / cenário: só reformatam quando o segundo
+    // (ou o milissegundo) muda.
+    private static final RelogioFormatado HORA = new RelogioFormatado("HH:mm:ss", 1000);
+    private static final RelogioFormatado HORA_COM_MILIS = new RelogioFormatado("HH:mm:ss:SSS", 1);
+    private static final RelogioFormatado DATA_HORA = new RelogioFormatado("yyyy-MM-dd HH:mm:ss", 1000);
 
     public static String getHoraAtual() {
-        return LocalDateTime.now().format(HORA_FORMATTER);
+        return HORA.agora();
     }
 
     // >>> NOVO MÉTODO PARA OBTER A HORA COM MILISSEGUNDOS <<<
     public static String getHoraAtualComMilis() {
-        return LocalDateTime.now().format(HORA_COM_MILIS_FORMATTER);
+        return HORA_COM_MILIS.agora();
     }
 
     public static String getDataHoraAtual() {
-        return LocalDateTime.now().format(DATA_HORA_FORMATTER);
+        return DATA_HORA.agora();
     }
 
     public static String getTimestamp() {
@@ -0,0 +1,160 @@
+package org.br.com.test.utils;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Configurações de execução da suíte (concorrência, limpeza, evidências).
+ * Lê o mesmo arquivo test.properties usado por {@link LogConfig}; qualquer chave
+ * pode ser sobrescrita por System property (ex: -Dlimpeza.concorrencia=8).
+ */
+@Log4j2
+public class ExecucaoConfig {
+
+	private static final Properties properties = new Properties();
+
+	static {
+		loadProperties();
+	}
+
+	private static void loadProperties() {
+		try (InputStream input = ExecucaoConfig.class.getClassLoader().getResourceAsStream("test.properties")) {
+			if (input != null) {
+				properties.load(input);
+			}
+		} catch (IOException e) {
+			log.warn("⚠️ Erro ao carregar test.properties: {}", e.getMessage());
+		}
+	}
+
+	public static String getString(String chave, String padrao) {
+		String valor = System.getProperty(chave);
+		if (valor == null) {
+			valor = properties.getProperty(chave);
+		}
+		return valor != null ? valor.trim() : padrao;
+	}
+
+	public static int getInt(String chave, int padrao) {
+		try {
+			return Integer.parseInt(getString(chave, String.valueOf(padrao)));
+		} catch (NumberFormatException e) {
+			log.warn("⚠️ Erro ao parsear {}, usando valor padrão: {}", chave, padrao);
+			return padrao;
+		}
+	}
+
+	public static boolean getBoolean(String chave, boolean padrao) {
+		return Boolean.parseBoolean(getString(chave, String.valueOf(padrao)));
+	}
+
+	// --- Limpeza de recursos criados durante a execução ---
+
+	public static boolean isLimpezaHabilitada() {
+		return getBoolean("limpeza.habilitada", true);
+	}
+
+	/**
+	 * Credenciais da identidade usada para excluir recursos sem token (ou com token recusado).
+	 * Vazias: a limpeza cadastra um usuário descartável para isso.
+	 */
+	public static String getLimpezaUsuarioEmail() {
+		return getString("limpeza.usuario.email", "");
+	}
+
+	public static String getLimpezaUsuarioSenha() {
+		return getString("limpeza.usuario.senha", "");
+	}
+
+	public static int getLimpezaConcorrencia() {
+		return Math.max(1, getInt("limpeza.concorrencia", 4));
+	}
+
+	public static int getLimpezaTimeoutSegundos() {
+		return Math.max(1, getInt("limpeza.timeout.segundos", 60));
+	}
+
+	// --- Geração assíncrona de evidências ---
+
+	public static boolean isEvidenciaAssincrona() {
+		return getBoolean("evidencia.assincrona", true);
+	}
+
+	public static int getEvidenciaWorkers() {
+		return Math.max(1, getInt("evidencia.workers", 2));
+	}
+
+	public static int getEvidenciaCapacidadeFila() {
+		return Math.max(1, getInt("evidencia.fila.capacidade", 64));
+	}
+
+	public static int getEvidenciaTimeoutSegundos() {
+		return Math.max(1, getInt("evidencia.timeout.segundos", 120));
+	}
+
+	public static long getEvidenciaDocxStreamingLimite() {
+		try {
+			return Long.parseLong(getString("evidencia.docx.streaming.limite.bytes", "262144"));
+		} catch (NumberFormatException e) {
+			return 262144L;
+		}
+	}
+
+	/**
+	 * Como a evidência é anexada ao relatório do Cucumber: "embutido" (bytes do DOCX no relatório,
+	 * gerado na thread do cenário), "link" (apenas o caminho do arquivo) ou "nenhum".
+	 */
+	public static String getEvidenciaAnexoModo() {
+		return getString("evidencia.anexo.modo", "link").toLowerCase();
+	}
+
+	public static int getEvidenciaCorpoLimite() {
+		return Math.max(1, getInt("evidencia.corpo.limite.bytes", 1048576));
+	}
+
+	/**
+	 * Tamanho da prévia (em bytes UTF-8, recuada até o início de um caractere) de corpos gravados em disco.
+	 */
+	public static int getEvidenciaCorpoPreviaBytes() {
+		return Math.max(0, getInt("evidencia.corpo.previa.bytes", 4096));
+	}
+
+	public static boolean isEvidenciaBlobsHabilitado() {
+		return getBoolean("evidencia.blobs.habilitado", true);
+	}
+
+	public static String getEvidenciaFormato() {
+		return getString("evidencia.formato", "docx").trim().toLowerCase();
+	}
+
+	public static boolean isEvidenciaAmostragemHabilitada() {
+		return getBoolean("evidencia.amostragem.habilitada", false);
+	}
+
+	public static int getEvidenciaAmostragemPrimeiros() {
+		return Math.max(0, getInt("evidencia.amostragem.primeiros", 1));
+	}
+
+	public static String getEvidenciaAmostragemModo() {
+		return getString("evidencia.amostragem.modo", "taxa").toLowerCase();
+	}
+
+	public static double getEvidenciaAmostragemTaxa() {
+		try {
+			return Double.parseDouble(getString("evidencia.amostragem.taxa", "0.1"));
+		} catch (NumberFormatException e) {
+			return 0.1;
+		}
+	}
+
+	public static int getEvidenciaAmostragemReservatorio() {
+		return Math.max(1, getInt("evidencia.amostragem.reservatorio", 5));
+	}
+
+	public static int getEvidenciaJsonMaxCaracteres() {
+		return Math.max(1, getInt("evidencia.json.max.caracteres", 4194304));
+	}
+}
@@ -1,78 +1,195 @@
 package org.br.com.test.utils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.http.Header;
+import org.br.com.core.support.logger.MascaramentoRewritePolicy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
 
 public class FormatUtils {
+
+    // Thread-safe e reaproveitado: parsers e geradores são criados a partir dele sem instanciar ObjectMapper.
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Indenta um JSON copiando os tokens do parser direto para um gerador com pretty printer,
+     * sem montar a árvore de objetos. Texto que não é JSON válido é devolvido sem alteração.
+     * A saída é limitada a "evidencia.json.max.caracteres"; acima disso é truncada com um aviso.
+     */
     public static String prettyJson(String json) {
+        return formatarJson(json, false);
+    }
+
+    /**
+     * Indenta e mascara o JSON na mesma passada: valores de campos sensíveis (ver {@link MascaramentoDados})
+     * são substituídos enquanto os tokens são copiados.
+     */
+    public static String prettyJsonMascarado(String json) {
+        return formatarJson(json, true);
+    }
+
+    private static String formatarJson(String json, boolean mascarar) {
         if (json == null || json.trim().isEmpty()) {
             return "";
         }
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.enable(SerializationFeature.INDENT_OUTPUT);
-            Object obj = mapper.readValue(json, Object.class);
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+        int limite = ExecucaoConfig.getEvidenciaJsonMaxCaracteres();
+        SaidaLimitada saida = new SaidaLimitada(Math.min(json.length() + (json.length() >> 1), limite), limite);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator gen = JSON_FACTORY.createGenerator(saida)) {
+            gen.useDefaultPrettyPrinter();
+            if (parser.nextToken() == null) {
+                return bruto(json, mascarar);
+            }
+            // Copia um único valor raiz, como o ObjectMapper fazia.
+            int profundidade = 0;
+            MascaramentoDados.Tipo sensivel = null;
+            try {
+                do {
+                    JsonToken token = parser.currentToken();
+                    if (token == JsonToken.FIELD_NAME) {
+                        sensivel = mascarar ? MascaramentoDados.tipoDoCampo(parser.currentName()) : null;
+                        gen.copyCurrentEvent(parser);
+                        continue;
+                    }
+                    if (sensivel != null && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                        gen.writeString(MascaramentoDados.mascarar(sensivel, parser.getText()));
+                    } else {
+                        gen.copyCurrentEvent(parser);
+                    }
+                    sensivel = null;
+                    if (token.isStructStart()) {
+                        profundidade++;
+                    } else if (token.isStructEnd()) {
+                        profundidade--;
+                    }
+                } while (profundidade > 0 && parser.nextToken() != null);
+            } catch (JsonProcessingException e) {
+                if (!mascarar) {
+                    return json;
+                }
+                // JSON truncado (ex: prévia de corpo grande): mantém a parte já mascarada e anexa o restante,
+                // mascarado pela política de texto livre já que não é analisável como JSON.
+                gen.flush();
+                int offset = (int) Math.min(json.length(), Math.max(0, e.getLocation() != null ? e.getLocation().getCharOffset() : json.length()));
+                return saida + "\n" + bruto(json.substring(offset), true);
+            }
+            if (profundidade != 0) {
+                return bruto(json, mascarar);
+            }
+            gen.flush();
+            return saida.toString();
+        } catch (LimiteExcedido e) {
+            return saida.toString() + "\n... [saida truncada em " + limite + " caracteres]";
         } catch (Exception e) {
-            return json;
+            // Não é JSON (form-encoded, text/plain): no modo mascarado nunca devolve o corpo em claro.
+            return bruto(json, mascarar);
         }
     }
 
-    public static String formatHeaders(String headersRaw) {
-        if (headersRaw == null || headersRaw.isEmpty()) return "";
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Texto que não passou pelo formatador JSON: com mascaramento, aplica a política de texto livre
+     * (a mesma do Log4j2), porque as evidências não passam pelo rewrite do log.
+     */
+    private static String bruto(String texto, boolean mascarar) {
+        return mascarar ? MascaramentoRewritePolicy.mascarar(texto) : texto;
+    }
+
+    /**
+     * Writer em memória que interrompe a escrita ao atingir o limite de caracteres.
+     */
+    private static class SaidaLimitada extends Writer {
+        private final StringBuilder sb;
+        private final int limite;
+
+        SaidaLimitada(int capacidadeInicial, int limite) {
+            this.sb = new StringBuilder(Math.max(16, capacidadeInicial));
+            this.limite = limite;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int restante = limite - sb.length();
+            if (len > restante) {
+                sb.append(cbuf, off, Math.max(0, restante));
+                throw new LimiteExcedido();
+            }
+            sb.append(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
 
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("([A-Za-z0-9\\-]+)=([^=]+)(?=\\s+[A-Za-z0-9\\-]+=|$)");
-        java.util.regex.Matcher matcher = pattern.matcher(headersRaw);
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
 
-        while (matcher.find()) {
-            String key = matcher.group(1).trim();
-            String value = matcher.group(2).trim();
+    private static class LimiteExcedido extends IOException {
+        LimiteExcedido() {
+            super(null, null);
+        }
+    }
+
+    /**
+     * Formata os headers capturados pelo EvidenceFilter, um "nome=valor" por linha.
+     * Accept tem os tipos quebrados em linhas; headers sensíveis (ex: Authorization) são mascarados
+     * pelas regras do {@link MascaramentoDados} ou, com o mascaramento desativado, truncados em 20 caracteres.
+     */
+    public static String formatHeaders(List<Header> headers) {
+        if (headers == null || headers.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        for (Header header : headers) {
+            String key = header.getName();
+            String value = header.getValue() == null ? "" : header.getValue().trim();
 
             if (key.equalsIgnoreCase("Accept")) {
-                String[] values = value.split(",\\s*");
-                sb.append(key).append("=").append(values[0]).append("\n");
-                for (int i = 1; i < values.length; i++) {
-                    sb.append(values[i]).append("\n");
-                }
-            } else if (key.equalsIgnoreCase("Authorization")) {
-                if (value.length() > 20) {
-                    value = value.substring(0, 20) + "...";
+                int inicio = 0;
+                boolean primeiro = true;
+                while (inicio <= value.length()) {
+                    int virgula = value.indexOf(',', inicio);
+                    int fim = virgula < 0 ? value.length() : virgula;
+                    String tipo = value.substring(inicio, fim).trim();
+                    if (primeiro) {
+                        sb.append(key).append("=");
+                        primeiro = false;
+                    }
+                    sb.append(tipo).append("\n");
+                    if (virgula < 0) break;
+                    inicio = virgula + 1;
                 }
-                sb.append(key).append("=").append(value).append("\n");
-            } else {
-                sb.append(key).append("=").append(value).append("\n");
+                continue;
+            }
+            MascaramentoDados.Tipo sensivel = MascaramentoDados.tipoDoCampo(key);
+            if (sensivel != null) {
+                value = MascaramentoDados.mascarar(sensivel, value);
+            } else if (key.equalsIgnoreCase("Authorization") && value.length() > 20) {
+                value = value.substring(0, 20) + "...";
             }
+            sb.append(key).append("=").append(value).append("\n");
         }
         return sb.toString().trim();
     }
 
     /**
-     * Mascara dados sensíveis em uma string JSON.
-     * Atualmente, mascara os campos "authorization" e "token".
+     * Mascara dados sensíveis em uma string JSON (compacta ou indentada) em uma única passada
+     * pelo streaming do Jackson, usando os campos definidos pelo {@link LogConfig}.
      * @param json A string JSON a ser processada.
-     * @return A string JSON com os dados mascarados.
+     * @return O JSON indentado com os dados mascarados.
      */
     public static String maskSensitiveDataInJson(String json) {
-        if (json == null) return null;
-
-        String maskedJson = json;
-
-        // >>>>>>>> LÓGICA DE MASCARAMENTO ATUALIZADA <<<<<<<<<<
-
-        // Regra 1: Mascara o campo "authorization" (padrão antigo)
-        maskedJson = maskedJson.replaceAll(
-                "(\"authorization\"\\s*:\\s*\"Bearer\\s+)([^\"]{20})[^\"]*",
-                "$1$2...\""
-        );
-
-        // Regra 2: Mascara o campo "token" (novo padrão)
-        // A regex procura por "token" : "valor", captura os primeiros 15 caracteres do valor e substitui o resto.
-        maskedJson = maskedJson.replaceAll(
-                "(\"token\"\\s*:\\s*\")([^\"\\s]{15})[^\"\\s]*",
-                "$1$2...\""
-        );
-
-        return maskedJson;
+        if (json == null || json.trim().isEmpty()) return json;
+        return prettyJsonMascarado(json);
     }
 }
\ No newline at end of file
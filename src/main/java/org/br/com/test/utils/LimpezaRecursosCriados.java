@@ -0,0 +1,198 @@
+package org.br.com.test.utils;
+
+import io.restassured.response.Response;
+import lombok.extern.log4j.Log4j2;
+import org.br.com.test.model.request.LoginRequest;
+import org.br.com.test.model.request.UsuarioRequest;
+import org.br.com.test.utils.massas.FakerApiData;
+import org.br.com.test.manager.RecursosCriadosManager;
+import org.br.com.test.manager.RecursosCriadosManager.TipoRecurso;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Limpeza em massa dos recursos registrados no {@link RecursosCriadosManager}.
+ * Executada uma única vez no final da suíte (RunnerTestApi.afterClass).
+ * As exclusões respeitam a ordem de dependência (artigos -> categorias -> usuários):
+ * dentro de cada fase as requisições rodam em paralelo, com concorrência limitada
+ * por "limpeza.concorrencia", e a fase seguinte só começa quando a anterior termina.
+ * Cada recurso é excluído com o token registrado na criação. Os que não têm token (ex: usuário que nunca
+ * fez login) ou cujo token é recusado (401/403) são excluídos com o token de limpeza: login com
+ * "limpeza.usuario.email"/"limpeza.usuario.senha" ou, sem essas chaves, com um usuário descartável
+ * cadastrado só para a limpeza e excluído ao final. Eles aparecem como "via token de limpeza" no resumo.
+ */
+@Log4j2
+public class LimpezaRecursosCriados {
+
+	private static final String BASE_URL = "http://localhost:3000";
+	private static final String ENDPOINT_USUARIOS = "/usuarios";
+	private static final String ENDPOINT_LOGIN = "/auth/login";
+
+	private static final TipoRecurso[] ORDEM_EXCLUSAO = {
+			TipoRecurso.ARTIGO, TipoRecurso.CATEGORIA, TipoRecurso.USUARIO
+	};
+
+	public static void executar() {
+		if (!ExecucaoConfig.isLimpezaHabilitada() || RecursosCriadosManager.getTotalPendentes() == 0) {
+			return;
+		}
+
+		int concorrencia = ExecucaoConfig.getLimpezaConcorrencia();
+		int timeoutSegundos = ExecucaoConfig.getLimpezaTimeoutSegundos();
+		ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+		TokenLimpeza tokenLimpeza = new TokenLimpeza();
+
+		log.info("==========================================");
+		log.info("Limpeza de recursos criados (concorrência: {})", concorrencia);
+		try {
+			for (TipoRecurso tipo : ORDEM_EXCLUSAO) {
+				excluirFase(executor, tipo, timeoutSegundos, tokenLimpeza);
+			}
+		} finally {
+			executor.shutdownNow();
+			RecursosCriadosManager.limpar();
+			tokenLimpeza.descartar();
+		}
+		log.info("==========================================");
+	}
+
+	private static void excluirFase(ExecutorService executor, TipoRecurso tipo, int timeoutSegundos, TokenLimpeza tokenLimpeza) {
+		Map<String, String> pendentes = RecursosCriadosManager.getPendentes(tipo);
+		if (pendentes.isEmpty()) {
+			return;
+		}
+
+		AtomicInteger excluidos = new AtomicInteger();
+		AtomicInteger inexistentes = new AtomicInteger();
+		AtomicInteger falhas = new AtomicInteger();
+		AtomicInteger viaLimpeza = new AtomicInteger();
+		long inicio = System.nanoTime();
+
+		List<Future<?>> tarefas = new ArrayList<>(pendentes.size());
+		for (Map.Entry<String, String> pendente : pendentes.entrySet()) {
+			String id = pendente.getKey();
+			String token = pendente.getValue();
+			tarefas.add(executor.submit(() -> {
+				int status = RecursosCriadosManager.SEM_TOKEN.equals(token) ? 401 : excluir(tipo, id, token);
+				if (status == 401 || status == 403) {
+					// Sem token do dono ou token recusado: exclui com a identidade dedicada à limpeza.
+					String limpeza = tokenLimpeza.obter();
+					status = limpeza != null ? excluir(tipo, id, limpeza) : -1;
+					viaLimpeza.incrementAndGet();
+				}
+				if (status == 200 || status == 204) {
+					excluidos.incrementAndGet();
+				} else if (status == 404) {
+					inexistentes.incrementAndGet();
+				} else {
+					falhas.incrementAndGet();
+				}
+			}));
+		}
+
+		long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSegundos);
+		for (Future<?> tarefa : tarefas) {
+			try {
+				tarefa.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				tarefa.cancel(true);
+				falhas.incrementAndGet();
+			}
+		}
+
+		long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		log.info(String.format("%-10s total: %d | excluídos: %d | já inexistentes: %d | falhas: %d | via token de limpeza: %d | %d ms",
+				tipo.name(), pendentes.size(), excluidos.get(), inexistentes.get(), falhas.get(), viaLimpeza.get(), duracaoMs));
+	}
+
+	private static int excluir(TipoRecurso tipo, String id, String token) {
+		try {
+			var request = given()
+					.header("accept", "*/*")
+					.baseUri(BASE_URL);
+			if (token != null && !token.isEmpty()) {
+				request.header("Authorization", "Bearer " + token);
+			}
+			Response response = request.when().delete(tipo.getEndpoint() + "/" + id);
+			return response.getStatusCode();
+		} catch (Exception e) {
+			log.error("Erro ao excluir {} {}: {}", tipo.name(), id, e.getMessage());
+			return -1;
+		}
+	}
+
+	/**
+	 * Token da identidade dedicada à limpeza, obtido uma única vez e só se algum recurso precisar dele.
+	 */
+	private static class TokenLimpeza {
+
+		private String token;
+		private String idUsuarioDescartavel;
+		private boolean tentado;
+
+		synchronized String obter() {
+			if (!tentado) {
+				tentado = true;
+				try {
+					token = autenticar();
+				} catch (Exception e) {
+					log.error("Não foi possível obter o token de limpeza: {}", e.getMessage());
+				}
+			}
+			return token;
+		}
+
+		private String autenticar() {
+			String email = ExecucaoConfig.getLimpezaUsuarioEmail();
+			String senha = ExecucaoConfig.getLimpezaUsuarioSenha();
+			if (email.isEmpty() || senha.isEmpty()) {
+				UsuarioRequest descartavel = FakerApiData.gerarUsuarioRequestSimples();
+				Response cadastro = given()
+						.header("Content-Type", "application/json")
+						.baseUri(BASE_URL)
+						.body(descartavel)
+						.when()
+						.post(ENDPOINT_USUARIOS);
+				if (cadastro.getStatusCode() != 201) {
+					log.error("Cadastro do usuário de limpeza falhou com status {}", cadastro.getStatusCode());
+					return null;
+				}
+				idUsuarioDescartavel = cadastro.jsonPath().getString("id");
+				email = descartavel.getEmail();
+				senha = descartavel.getSenha();
+			}
+			Response login = given()
+					.header("Content-Type", "application/json")
+					.baseUri(BASE_URL)
+					.body(LoginRequest.builder().email(email).senha(senha).build())
+					.when()
+					.post(ENDPOINT_LOGIN);
+			if (login.getStatusCode() != 200) {
+				log.error("Login de limpeza falhou com status {}", login.getStatusCode());
+				return null;
+			}
+			return login.jsonPath().getString("token");
+		}
+
+		/**
+		 * Exclui o usuário descartável (se foi criado) com o próprio token.
+		 */
+		synchronized void descartar() {
+			if (idUsuarioDescartavel != null && token != null) {
+				excluir(TipoRecurso.USUARIO, idUsuarioDescartavel, token);
+			}
+		}
+	}
+}
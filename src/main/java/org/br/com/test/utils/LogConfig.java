@@ -68,6 +68,17 @@ public class LogConfig {
 		}
 	}
 	
+	/**
+	 * Limite de caracteres para conteúdos logados via Supplier (corpos de requisição/resposta); 0 = sem limite.
+	 */
+	public static int getTamanhoMaximoMensagem() {
+		try {
+			return Integer.parseInt(properties.getProperty("log.mensagem.max.caracteres", "0").trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+	
 	public static boolean isInitialized() {
 		return initialized;
 	}
@@ -0,0 +1,106 @@
+package org.br.com.test.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Regras de mascaramento de dados sensíveis, montadas uma única vez a partir do {@link LogConfig}.
+ * O conjunto de campos mascarados (por nome, sem diferenciar maiúsculas) considera as flags
+ * log.mascarar.senha/id/token/email e log.mascarar.dados.sensiveis; os valores mantêm
+ * log.caracteres.visiveis caracteres em cada ponta, como os mascaramentos já usados nos logs.
+ */
+public class MascaramentoDados {
+
+	public enum Tipo {
+		SENHA, ID, TOKEN, EMAIL
+	}
+
+	private static final Map<String, Tipo> CAMPOS = montarCampos();
+	private static final int VISIVEIS = LogConfig.getCaracteresVisiveis();
+
+	private MascaramentoDados() {
+	}
+
+	private static Map<String, Tipo> montarCampos() {
+		Map<String, Tipo> campos = new HashMap<>();
+		if (!LogConfig.isMascararDadosSensiveis()) {
+			return Collections.emptyMap();
+		}
+		if (LogConfig.isMascararSenha()) {
+			for (String campo : new String[]{"senha", "password", "novasenha", "confirmacaosenha", "confirmarsenha"}) {
+				campos.put(campo, Tipo.SENHA);
+			}
+		}
+		if (LogConfig.isMascararToken()) {
+			for (String campo : new String[]{"token", "authorization", "accesstoken", "access_token", "refreshtoken", "refresh_token", "jwt"}) {
+				campos.put(campo, Tipo.TOKEN);
+			}
+		}
+		if (LogConfig.isMascararId()) {
+			for (String campo : new String[]{"id", "userid", "idusuario", "usuarioid", "id usuário", "id usuario"}) {
+				campos.put(campo, Tipo.ID);
+			}
+		}
+		if (LogConfig.isMascararEmail()) {
+			campos.put("email", Tipo.EMAIL);
+		}
+		return Collections.unmodifiableMap(campos);
+	}
+
+	/**
+	 * Nomes de campo mascarados (em minúsculas), conforme as flags do LogConfig.
+	 */
+	public static Set<String> getCampos() {
+		return CAMPOS.keySet();
+	}
+
+	public static boolean isHabilitado(Tipo tipo) {
+		return CAMPOS.containsValue(tipo);
+	}
+
+	/**
+	 * Mascara o valor apenas se o tipo estiver habilitado no LogConfig; caso contrário devolve o valor original.
+	 */
+	public static String mascararSeHabilitado(Tipo tipo, String valor) {
+		if (!isHabilitado(tipo)) {
+			return valor;
+		}
+		return mascarar(tipo, valor);
+	}
+
+	/**
+	 * Tipo de dado sensível associado ao nome do campo, ou null se o campo não deve ser mascarado.
+	 */
+	public static Tipo tipoDoCampo(String nomeCampo) {
+		if (nomeCampo == null || CAMPOS.isEmpty()) {
+			return null;
+		}
+		Tipo tipo = CAMPOS.get(nomeCampo);
+		return tipo != null ? tipo : CAMPOS.get(nomeCampo.toLowerCase(Locale.ROOT));
+	}
+
+	public static String mascarar(Tipo tipo, String valor) {
+		if (valor == null || valor.isEmpty()) {
+			return "***";
+		}
+		if (tipo == Tipo.EMAIL) {
+			int arroba = valor.indexOf('@');
+			if (arroba > 0) {
+				return valor.substring(0, Math.min(VISIVEIS, arroba)) + "***" + valor.substring(arroba);
+			}
+		}
+		if (valor.length() <= VISIVEIS * 2) {
+			return "***" + valor.substring(valor.length() - 1);
+		}
+		String meio;
+		switch (tipo) {
+			case ID: meio = "-****-****-"; break;
+			case TOKEN: meio = "****"; break;
+			default: meio = "***";
+		}
+		return valor.substring(0, VISIVEIS) + meio + valor.substring(valor.length() - VISIVEIS);
+	}
+}
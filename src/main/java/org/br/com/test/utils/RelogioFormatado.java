@@ -0,0 +1,48 @@
+package org.br.com.test.utils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Texto da hora atual em cache: o formato só é refeito quando o relógio muda de unidade
+ * (segundo ou milissegundo, conforme o padrão). Entre uma virada e outra todas as threads
+ * recebem a mesma String, sem alocar.
+ */
+public class RelogioFormatado {
+
+	private final DateTimeFormatter formatter;
+	private final long unidadeMillis;
+	private volatile Marca atual = new Marca(Long.MIN_VALUE, "");
+
+	/**
+	 * @param padrao padrão do {@link DateTimeFormatter}
+	 * @param unidadeMillis granularidade do padrão em milissegundos (1000 para segundos, 1 para milissegundos)
+	 */
+	public RelogioFormatado(String padrao, long unidadeMillis) {
+		this.formatter = DateTimeFormatter.ofPattern(padrao).withZone(ZoneId.systemDefault());
+		this.unidadeMillis = unidadeMillis;
+	}
+
+	public String agora() {
+		long millis = System.currentTimeMillis();
+		long unidade = millis / unidadeMillis;
+		Marca marca = atual;
+		if (marca.unidade != unidade) {
+			// Corrida benigna: threads que viram o relógio juntas formatam o mesmo texto.
+			marca = new Marca(unidade, formatter.format(Instant.ofEpochMilli(millis)));
+			atual = marca;
+		}
+		return marca.texto;
+	}
+
+	private static final class Marca {
+		private final long unidade;
+		private final String texto;
+
+		private Marca(long unidade, String texto) {
+			this.unidade = unidade;
+			this.texto = texto;
+		}
+	}
+}
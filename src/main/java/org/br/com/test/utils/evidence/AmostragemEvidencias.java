@@ -0,0 +1,111 @@
+package org.br.com.test.utils.evidence;
+
+import org.br.com.core.support.Context;
+import org.br.com.test.utils.ExecucaoConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Política de amostragem das evidências para execuções em laço ou sob carga ("evidencia.amostragem.*").
+ * Falhas sempre geram evidência; as N primeiras aprovações de cada cenário também. As aprovações seguintes são
+ * amostradas por taxa (decisão imediata) ou por reservatório por tag: cada tag guarda no máximo K evidências
+ * escolhidas uniformemente entre todas as aprovações excedentes, geradas no fim da execução.
+ * Os totais de evidências geradas e descartadas aparecem no resumo de {@link Context#finishedContext(long)}.
+ */
+public class AmostragemEvidencias {
+
+	public enum Decisao {
+		GERAR, ADIAR, DESCARTAR
+	}
+
+	private static final Map<String, AtomicInteger> aprovacoesPorCenario = new ConcurrentHashMap<>();
+	private static final Map<String, Reservatorio> reservatorios = new ConcurrentHashMap<>();
+
+	private AmostragemEvidencias() {
+	}
+
+	/**
+	 * Decide o destino da evidência do cenário. Com {@link Decisao#ADIAR} o chamador deve entregar
+	 * a evidência montada em {@link #adiar(String, EvidenciaApi)}.
+	 *
+	 * @param chaveCenario identifica o cenário entre repetições (ex: uri:linha do Cucumber)
+	 */
+	public static Decisao avaliar(String chaveCenario, boolean passed) {
+		if (!passed || !ExecucaoConfig.isEvidenciaAmostragemHabilitada()) {
+			Context.incrementEvidenciasGeradas();
+			return Decisao.GERAR;
+		}
+		int aprovacao = aprovacoesPorCenario.computeIfAbsent(chaveCenario, k -> new AtomicInteger()).incrementAndGet();
+		if (aprovacao <= ExecucaoConfig.getEvidenciaAmostragemPrimeiros()) {
+			Context.incrementEvidenciasGeradas();
+			return Decisao.GERAR;
+		}
+		if ("reservatorio".equals(ExecucaoConfig.getEvidenciaAmostragemModo())) {
+			return Decisao.ADIAR;
+		}
+		if (ThreadLocalRandom.current().nextDouble() < ExecucaoConfig.getEvidenciaAmostragemTaxa()) {
+			Context.incrementEvidenciasGeradas();
+			return Decisao.GERAR;
+		}
+		Context.incrementEvidenciasDescartadas();
+		return Decisao.DESCARTAR;
+	}
+
+	public static void adiar(String tag, EvidenciaApi evidencia) {
+		reservatorios.computeIfAbsent(tag, k -> new Reservatorio(ExecucaoConfig.getEvidenciaAmostragemReservatorio()))
+				.oferecer(evidencia);
+	}
+
+	/**
+	 * Envia para geração as evidências mantidas nos reservatórios. Chamado uma vez no fim da execução,
+	 * antes de {@link EvidenciaExecutor#aguardarConclusao()}.
+	 */
+	public static void descarregarReservatorios() {
+		for (Reservatorio reservatorio : reservatorios.values()) {
+			for (EvidenciaApi evidencia : reservatorio.esvaziar()) {
+				Context.incrementEvidenciasGeradas();
+				EvidenciaExecutor.enviar(evidencia);
+			}
+		}
+		reservatorios.clear();
+		aprovacoesPorCenario.clear();
+	}
+
+	/**
+	 * Amostragem por reservatório (algoritmo R): após i ofertas, cada uma tem probabilidade K/i de estar retida.
+	 */
+	private static class Reservatorio {
+		private final int capacidade;
+		private final List<EvidenciaApi> itens = new ArrayList<>();
+		private long vistos;
+
+		Reservatorio(int capacidade) {
+			this.capacidade = capacidade;
+		}
+
+		synchronized void oferecer(EvidenciaApi evidencia) {
+			vistos++;
+			if (itens.size() < capacidade) {
+				itens.add(evidencia);
+				return;
+			}
+			long j = ThreadLocalRandom.current().nextLong(vistos);
+			if (j < capacidade) {
+				itens.set((int) j, evidencia);
+			}
+			// Seja a nova ou a substituída, uma evidência sai do reservatório.
+			Context.incrementEvidenciasDescartadas();
+		}
+
+		synchronized List<EvidenciaApi> esvaziar() {
+			List<EvidenciaApi> retidas = new ArrayList<>(itens);
+			itens.clear();
+			return retidas;
+		}
+	}
+}
@@ -0,0 +1,479 @@
+package org.br.com.test.utils.evidence;
+
+import org.apache.poi.xwpf.usermodel.ParagraphAlignment;
+import org.br.com.core.filter.TrocaHttp;
+import org.br.com.test.utils.ExecucaoConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Gera o DOCX de evidência escrevendo o pacote zip diretamente, sem montar o DOM do POI.
+ * Todas as partes do modelo são copiadas sem alteração; somente word/document.xml é reescrito,
+ * a partir de uma lista de segmentos calculada uma única vez (trechos literais do XML do modelo
+ * intercalados com os parágrafos que contêm placeholders).
+ * Os corpos de requisição/resposta são escapados e escritos linha a linha direto no zip,
+ * então a memória extra não cresce com o tamanho do corpo.
+ * As regras de estilo são as mesmas do {@link GeradorDocxApi} (ver montarSubstituicoes).
+ */
+public class EscritorDocxStreaming {
+
+	private static final String DOCUMENT_XML = "word/document.xml";
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{[A-Za-z0-9_]+\\}\\}");
+	private static final Pattern INICIO_PARAGRAFO = Pattern.compile("<w:p[ >]");
+	private static final Pattern CELULA = Pattern.compile("<w:tc[ >]|</w:tc>");
+	private static final Pattern TEXTO_RUN = Pattern.compile("<w:t(?: [^>]*)?>([^<]*)</w:t>");
+	private static final Pattern FONTE_RUN = Pattern.compile("<w:r[ >].*?<w:rFonts [^>]*w:ascii=\"([^\"]+)\"", Pattern.DOTALL);
+	private static final Pattern TAMANHO_RUN = Pattern.compile("<w:r[ >].*?<w:sz w:val=\"(\\d+)\"", Pattern.DOTALL);
+
+	private static volatile List<Segmento> segmentos;
+
+	/**
+	 * Trecho do document.xml do modelo: literal (copiado como está) ou parágrafo com placeholder.
+	 */
+	private static class Segmento {
+		private final String literal;
+		private final String placeholder;
+		private final String abertura;
+		private final String propriedades;
+		private final String fontFamily;
+		private final int fontSize;
+
+		private Segmento(String literal) {
+			this(literal, null, null, null, null, 0);
+		}
+
+		private Segmento(String literal, String placeholder, String abertura, String propriedades, String fontFamily, int fontSize) {
+			this.literal = literal;
+			this.placeholder = placeholder;
+			this.abertura = abertura;
+			this.propriedades = propriedades;
+			this.fontFamily = fontFamily;
+			this.fontSize = fontSize;
+		}
+	}
+
+	/**
+	 * Indica se a evidência deve usar o escritor streaming, conforme "evidencia.docx.streaming.limite.bytes":
+	 * 0 = sempre, negativo = nunca, caso contrário apenas quando os corpos somados (em bytes UTF-8) excedem o limite.
+	 */
+	public static boolean deveUsar(EvidenciaApi evidencia) {
+		long limite = ExecucaoConfig.getEvidenciaDocxStreamingLimite();
+		if (limite < 0) {
+			return false;
+		}
+		long requisicao = bytesUtf8(evidencia.getRequestBody(), limite);
+		return requisicao + bytesUtf8(evidencia.getResponseBody(), limite - requisicao) >= limite;
+	}
+
+	/**
+	 * Tamanho do texto em UTF-8, sem codificá-lo; para de contar ao atingir o limite.
+	 */
+	private static long bytesUtf8(String texto, long limite) {
+		if (texto == null) {
+			return 0;
+		}
+		long bytes = 0;
+		int tamanho = texto.length();
+		for (int i = 0; i < tamanho && bytes < limite; i++) {
+			char c = texto.charAt(i);
+			if (c < 0x80) {
+				bytes++;
+			} else if (c < 0x800) {
+				bytes += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < tamanho && Character.isLowSurrogate(texto.charAt(i + 1))) {
+				bytes += 4;
+				i++;
+			} else {
+				bytes += 3;
+			}
+		}
+		return bytes;
+	}
+
+	public static void escrever(String docxFilePath, EvidenciaApi evidencia) throws IOException {
+		List<Segmento> modelo = getSegmentos();
+		Map<String, GeradorDocxApi.Substituicao> valores = GeradorDocxApi.montarSubstituicoes(evidencia);
+
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(ModeloDocxCache.getBytes()));
+			 ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(docxFilePath)))) {
+			ZipEntry entrada;
+			while ((entrada = zis.getNextEntry()) != null) {
+				zos.putNextEntry(new ZipEntry(entrada.getName()));
+				if (DOCUMENT_XML.equals(entrada.getName())) {
+					Writer writer = new OutputStreamWriter(zos, StandardCharsets.UTF_8);
+					escreverDocumento(writer, modelo, valores, evidencia);
+					writer.flush();
+				} else {
+					zis.transferTo(zos);
+				}
+				zos.closeEntry();
+			}
+		}
+	}
+
+	private static void escreverDocumento(Writer w, List<Segmento> modelo, Map<String, GeradorDocxApi.Substituicao> valores,
+										  EvidenciaApi evidencia) throws IOException {
+		boolean passed = evidencia.isPassed();
+		for (Segmento segmento : modelo) {
+			if (segmento.placeholder == null) {
+				String literal = segmento.literal;
+				String failureLog = evidencia.getFailureLog();
+				List<TrocaHttp> trocasAnteriores = evidencia.getTrocasAnteriores();
+				boolean temLog = failureLog != null && !failureLog.isEmpty();
+				boolean temTrocas = trocasAnteriores != null && !trocasAnteriores.isEmpty();
+				int sectPr = literal.lastIndexOf("<w:sectPr");
+				if ((temLog || temTrocas) && sectPr >= 0 && literal.indexOf("</w:body>", sectPr) >= 0) {
+					w.write(literal, 0, sectPr);
+					if (temTrocas) {
+						escreverTrocasAnteriores(w, trocasAnteriores);
+					}
+					if (temLog) {
+						escreverLogDeFalha(w, failureLog);
+					}
+					w.write(literal, sectPr, literal.length() - sectPr);
+				} else {
+					w.write(literal);
+				}
+				continue;
+			}
+			if (MapaPlaceholders.STATUS.equals(segmento.placeholder)) {
+				escreverStatus(w, segmento, passed ? "PASSED" : "FAILED", passed ? "00B050" : "FF0000");
+				continue;
+			}
+			GeradorDocxApi.Substituicao valor = valores.get(segmento.placeholder);
+			if (valor == null) {
+				w.write(segmento.literal);
+			} else {
+				escreverParagrafo(w, segmento, valor);
+			}
+		}
+	}
+
+	private static void escreverParagrafo(Writer w, Segmento seg, GeradorDocxApi.Substituicao valor) throws IOException {
+		String placeholder = seg.placeholder;
+		String texto = valor.texto;
+		int size = valor.fontSize != null ? valor.fontSize : seg.fontSize;
+
+		w.write(seg.abertura);
+		w.write(propriedadesComAlinhamento(seg.propriedades, valor.alignment));
+
+		if (placeholder.equals("{{requestBody}}") || placeholder.equals("{{responseBody}}") || placeholder.equals("{{headers}}")) {
+			int inicio = 0;
+			int tamanho = texto.length();
+			do {
+				int fim = texto.indexOf('\n', inicio);
+				int proximo = fim < 0 ? tamanho : fim + 1;
+				if (fim < 0) {
+					fim = tamanho;
+				}
+				if (fim > inicio && texto.charAt(fim - 1) == '\r') {
+					fim--;
+				}
+				boolean ultima = proximo >= tamanho;
+				abrirRun(w, seg.fontFamily, size, false, null);
+				escreverTexto(w, texto, inicio, fim, true);
+				if (!ultima) {
+					w.write("<w:br/>");
+				}
+				w.write("</w:r>");
+				inicio = proximo;
+			} while (inicio < tamanho);
+		} else if (placeholder.equals("{{data}}") && texto.startsWith("Data: ")) {
+			abrirRun(w, seg.fontFamily, size, true, null);
+			escreverTexto(w, "Data: ", 0, 6, false);
+			w.write("</w:r>");
+			abrirRun(w, seg.fontFamily, size, false, null);
+			escreverTexto(w, texto, 6, texto.length(), false);
+			w.write("</w:r>");
+		} else {
+			boolean negrito = placeholder.equals("{{requestMethod}}") || placeholder.equals("{{statusCode}}");
+			abrirRun(w, seg.fontFamily, size, negrito, valor.hexColor);
+			escreverTexto(w, texto, 0, texto.length(), false);
+			w.write("</w:r>");
+		}
+		w.write("</w:p>");
+	}
+
+	private static void escreverStatus(Writer w, Segmento seg, String statusValue, String statusColor) throws IOException {
+		w.write(seg.abertura);
+		w.write(seg.propriedades);
+		abrirRun(w, seg.fontFamily, seg.fontSize, true, null);
+		escreverTexto(w, "Status: ", 0, 8, false);
+		w.write("</w:r>");
+		abrirRun(w, seg.fontFamily, seg.fontSize, true, statusColor);
+		escreverTexto(w, statusValue, 0, statusValue.length(), false);
+		w.write("</w:r></w:p>");
+	}
+
+	private static void escreverTrocasAnteriores(Writer w, List<TrocaHttp> trocas) throws IOException {
+		w.write("<w:p><w:r><w:br/></w:r></w:p>");
+		w.write("<w:p><w:pPr><w:jc w:val=\"left\"/></w:pPr><w:r><w:rPr><w:b/><w:u w:val=\"single\"/></w:rPr>");
+		String titulo = "Requisicoes anteriores do cenario:";
+		escreverTexto(w, titulo, 0, titulo.length(), false);
+		w.write("</w:r></w:p>");
+		for (int n = 0; n < trocas.size(); n++) {
+			TrocaHttp troca = trocas.get(n);
+			String cabecalho = "Requisicao " + (n + 1) + ": " + troca.getMethod() + " " + troca.getUri()
+					+ " - Status Code: " + troca.getStatusCode();
+			w.write("<w:p>");
+			abrirRun(w, "Arial", 9, true, null);
+			escreverTexto(w, cabecalho, 0, cabecalho.length(), false);
+			w.write("</w:r></w:p><w:p>");
+			abrirRun(w, "Courier New", 8, false, null);
+			escreverLinhas(w, "Request Body:");
+			w.write("<w:br/>");
+			escreverLinhas(w, troca.getRequestBody());
+			w.write("<w:br/>");
+			escreverLinhas(w, "Response Body:");
+			w.write("<w:br/>");
+			escreverLinhas(w, troca.getResponseBody());
+			w.write("</w:r></w:p>");
+		}
+	}
+
+	/**
+	 * Escreve o texto no run atual, um w:t por linha separados por w:br.
+	 */
+	private static void escreverLinhas(Writer w, String texto) throws IOException {
+		if (texto == null) {
+			texto = "";
+		}
+		int inicio = 0;
+		int tamanho = texto.length();
+		do {
+			int fim = texto.indexOf('\n', inicio);
+			int proximo = fim < 0 ? tamanho : fim + 1;
+			if (fim < 0) {
+				fim = tamanho;
+			}
+			if (fim > inicio && texto.charAt(fim - 1) == '\r') {
+				fim--;
+			}
+			escreverTexto(w, texto, inicio, fim, true);
+			if (proximo < tamanho) {
+				w.write("<w:br/>");
+			}
+			inicio = proximo;
+		} while (inicio < tamanho);
+	}
+
+	private static void escreverLogDeFalha(Writer w, String logText) throws IOException {
+		w.write("<w:p><w:r><w:br/></w:r></w:p>");
+		w.write("<w:p><w:pPr><w:jc w:val=\"left\"/></w:pPr><w:r><w:rPr><w:b/><w:u w:val=\"single\"/></w:rPr>");
+		escreverTexto(w, "Log de Falha:", 0, 13, false);
+		w.write("</w:r></w:p>");
+		w.write("<w:p><w:pPr><w:jc w:val=\"left\"/></w:pPr>");
+		abrirRun(w, "Courier New", 8, false, null);
+		String[] lines = logText.split("\\r?\\n");
+		for (int i = 0; i < lines.length; i++) {
+			escreverTexto(w, lines[i], 0, lines[i].length(), false);
+			if (i < lines.length - 1) w.write("<w:br/>");
+		}
+		w.write("</w:r></w:p>");
+	}
+
+	private static void abrirRun(Writer w, String fontFamily, int size, boolean negrito, String hexColor) throws IOException {
+		w.write("<w:r><w:rPr><w:rFonts w:ascii=\"");
+		w.write(fontFamily);
+		w.write("\" w:hAnsi=\"");
+		w.write(fontFamily);
+		w.write("\" w:eastAsia=\"");
+		w.write(fontFamily);
+		w.write("\" w:cs=\"");
+		w.write(fontFamily);
+		w.write("\"/>");
+		if (negrito) {
+			w.write("<w:b/>");
+		}
+		if (hexColor != null) {
+			w.write("<w:color w:val=\"");
+			w.write(hexColor);
+			w.write("\"/>");
+		}
+		w.write("<w:sz w:val=\"");
+		w.write(Integer.toString(size * 2));
+		w.write("\"/></w:rPr>");
+	}
+
+	/**
+	 * Escreve um w:t com o trecho [inicio, fim) escapado para XML, sem criar substrings.
+	 */
+	private static void escreverTexto(Writer w, String texto, int inicio, int fim, boolean trocarTab) throws IOException {
+		w.write("<w:t xml:space=\"preserve\">");
+		for (int i = inicio; i < fim; i++) {
+			char c = texto.charAt(i);
+			switch (c) {
+				case '&': w.write("&amp;"); break;
+				case '<': w.write("&lt;"); break;
+				case '>': w.write("&gt;"); break;
+				case '\t':
+					if (trocarTab) w.write("    "); else w.write(c);
+					break;
+				default:
+					// Caracteres de controle não são permitidos em XML 1.0.
+					if (c >= 0x20 || c == '\n' || c == '\r') {
+						w.write(c);
+					}
+			}
+		}
+		w.write("</w:t>");
+	}
+
+	private static String propriedadesComAlinhamento(String propriedades, ParagraphAlignment alignment) {
+		if (alignment == null) {
+			return propriedades;
+		}
+		String jc = "<w:jc w:val=\"" + (alignment == ParagraphAlignment.RIGHT ? "right" : alignment.name().toLowerCase()) + "\"/>";
+		if (propriedades.isEmpty()) {
+			return "<w:pPr>" + jc + "</w:pPr>";
+		}
+		String semJc = propriedades.replaceAll("<w:jc [^>]*/>", "");
+		int rPr = semJc.indexOf("<w:rPr>");
+		int posicao = rPr >= 0 ? rPr : semJc.lastIndexOf("</w:pPr>");
+		return semJc.substring(0, posicao) + jc + semJc.substring(posicao);
+	}
+
+	// --- Tokenização do modelo (executada uma única vez) ---
+
+	private static List<Segmento> getSegmentos() throws IOException {
+		List<Segmento> resultado = segmentos;
+		if (resultado == null) {
+			synchronized (EscritorDocxStreaming.class) {
+				resultado = segmentos;
+				if (resultado == null) {
+					resultado = tokenizar(lerDocumentXml());
+					segmentos = resultado;
+				}
+			}
+		}
+		return resultado;
+	}
+
+	private static String lerDocumentXml() throws IOException {
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(ModeloDocxCache.getBytes()))) {
+			ZipEntry entrada;
+			while ((entrada = zis.getNextEntry()) != null) {
+				if (DOCUMENT_XML.equals(entrada.getName())) {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					zis.transferTo(out);
+					return out.toString(StandardCharsets.UTF_8);
+				}
+			}
+		}
+		throw new IOException("Modelo de evidencia sem " + DOCUMENT_XML);
+	}
+
+	private static List<Segmento> tokenizar(String xml) {
+		List<Segmento> resultado = new ArrayList<>();
+		int[] celulaStatus = localizarCelulaStatus(xml);
+		int copiadoAte = 0;
+		Matcher inicio = INICIO_PARAGRAFO.matcher(xml);
+		int busca = 0;
+		while (inicio.find(busca)) {
+			int abre = inicio.start();
+			int fecha = xml.indexOf("</w:p>", abre);
+			if (fecha < 0) {
+				break;
+			}
+			int fim = fecha + "</w:p>".length();
+			busca = inicio.end();
+			String paragrafo = xml.substring(abre, fim);
+			// Parágrafos aninhados (caixas de texto) ficam como literal.
+			if (INICIO_PARAGRAFO.matcher(paragrafo).region(1, paragrafo.length()).find()) {
+				continue;
+			}
+			busca = fim;
+
+			String nome;
+			if (celulaStatus != null && abre >= celulaStatus[0] && fim <= celulaStatus[1]) {
+				// Mesma regra do MapaPlaceholders: todos os parágrafos da célula de status são reescritos.
+				nome = MapaPlaceholders.STATUS;
+			} else {
+				Matcher placeholder = PLACEHOLDER.matcher(texto(paragrafo));
+				// {{status}} fora da célula de status fica como está, como no gerador POI.
+				if (!placeholder.find() || MapaPlaceholders.STATUS.equals(placeholder.group())) {
+					continue;
+				}
+				nome = placeholder.group();
+			}
+
+			resultado.add(new Segmento(xml.substring(copiadoAte, abre)));
+			resultado.add(criarSegmentoParagrafo(paragrafo, nome));
+			copiadoAte = fim;
+		}
+		resultado.add(new Segmento(xml.substring(copiadoAte)));
+		return Collections.unmodifiableList(resultado);
+	}
+
+	/**
+	 * Primeira célula de tabela do corpo (não aninhada) cujo texto contém {{status}}, como em {@link MapaPlaceholders#de}.
+	 *
+	 * @return início e fim da célula no XML, ou null se não houver
+	 */
+	private static int[] localizarCelulaStatus(String xml) {
+		Matcher m = CELULA.matcher(xml);
+		Deque<Integer> abertas = new ArrayDeque<>();
+		while (m.find()) {
+			if (!m.group().startsWith("</")) {
+				abertas.push(m.start());
+			} else if (!abertas.isEmpty()) {
+				int abre = abertas.pop();
+				if (abertas.isEmpty() && texto(xml.substring(abre, m.end())).contains(MapaPlaceholders.STATUS)) {
+					return new int[]{abre, m.end()};
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String texto(String xml) {
+		StringBuilder texto = new StringBuilder();
+		Matcher t = TEXTO_RUN.matcher(xml);
+		while (t.find()) {
+			texto.append(t.group(1));
+		}
+		return texto.toString();
+	}
+
+	private static Segmento criarSegmentoParagrafo(String paragrafo, String placeholder) {
+		int fimAbertura = paragrafo.indexOf('>') + 1;
+		String abertura = paragrafo.substring(0, fimAbertura);
+		String propriedades = "";
+		if (paragrafo.startsWith("<w:pPr>", fimAbertura)) {
+			int fimPropriedades = paragrafo.indexOf("</w:pPr>", fimAbertura) + "</w:pPr>".length();
+			propriedades = paragrafo.substring(fimAbertura, fimPropriedades);
+		}
+		// Mesma regra do gerador POI: fonte e tamanho herdados do primeiro run, com Arial/10 como padrão.
+		String corpoRuns = paragrafo.substring(fimAbertura + propriedades.length());
+		String primeiroRun = corpoRuns.contains("<w:r") ? corpoRuns.substring(corpoRuns.indexOf("<w:r"), corpoRuns.indexOf("</w:r>") + 6) : "";
+		String fontFamily = "Arial";
+		int fontSize = 10;
+		Matcher fonte = FONTE_RUN.matcher(primeiroRun);
+		if (fonte.find()) {
+			fontFamily = fonte.group(1);
+		}
+		Matcher tamanho = TAMANHO_RUN.matcher(primeiroRun);
+		if (tamanho.find()) {
+			fontSize = Integer.parseInt(tamanho.group(1)) / 2;
+		}
+		return new Segmento(paragrafo, placeholder, abertura, propriedades, fontFamily, fontSize);
+	}
+}
@@ -0,0 +1,44 @@
+package org.br.com.test.utils.evidence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Formato de saída das evidências de cenário.
+ * A implementação em uso é escolhida por "evidencia.formato" ({@link EvidenceRenderers}):
+ * DOCX para execuções de auditoria; HTML ou JSON-lines quando só é preciso evidência legível por máquina.
+ */
+public interface EvidenceRenderer {
+
+	/**
+	 * Extensão (sem ponto) do arquivo gerado por cenário.
+	 */
+	String getExtensao();
+
+	/**
+	 * Tipo MIME usado ao anexar a evidência ao relatório do Cucumber.
+	 */
+	String getMimeType();
+
+	/**
+	 * Grava a evidência do cenário.
+	 * @return o caminho gravado e, quando disponíveis, os bytes do documento; null se a falha já foi registrada
+	 */
+	EvidenciaGerada renderizar(EvidenciaApi evidencia) throws IOException;
+
+	/**
+	 * Arquivo a referenciar no relatório quando a evidência não é embutida. Por padrão é o arquivo do
+	 * próprio cenário; formatos que agregam a execução em um único arquivo devolvem esse arquivo.
+	 * @param caminhoCenario caminho montado por GeradorDocxApi.montarCaminhoEvidencia para o cenário
+	 */
+	default Path caminhoAnexo(String caminhoCenario) {
+		return Paths.get(caminhoCenario);
+	}
+
+	/**
+	 * Libera recursos compartilhados pela execução (arquivos abertos, buffers). Chamado ao fim da execução.
+	 */
+	default void finalizar() {
+	}
+}
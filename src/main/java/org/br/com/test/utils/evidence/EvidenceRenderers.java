@@ -0,0 +1,59 @@
+package org.br.com.test.utils.evidence;
+
+import org.br.com.test.utils.ExecucaoConfig;
+
+/**
+ * Seleciona o {@link EvidenceRenderer} configurado em "evidencia.formato" (docx, html ou jsonl).
+ * A instância é criada uma vez por execução e compartilhada entre as threads de evidência.
+ * Depois de {@link #finalizar()} nenhum renderer é recriado até {@link #reabrir()}: uma tarefa atrasada
+ * recebe um erro em vez de abrir um renderer que ninguém mais finalizaria.
+ */
+public class EvidenceRenderers {
+
+	private static EvidenceRenderer atual;
+	private static boolean finalizado;
+
+	private EvidenceRenderers() {
+	}
+
+	/**
+	 * @throws IllegalStateException se a execução já finalizou os renderers
+	 */
+	public static synchronized EvidenceRenderer atual() {
+		if (finalizado) {
+			throw new IllegalStateException("Renderer de evidencias ja finalizado nesta execucao");
+		}
+		if (atual == null) {
+			atual = criar(ExecucaoConfig.getEvidenciaFormato());
+		}
+		return atual;
+	}
+
+	/**
+	 * Finaliza o renderer em uso e recusa novos acessos até {@link #reabrir()}.
+	 */
+	public static synchronized void finalizar() {
+		finalizado = true;
+		if (atual != null) {
+			atual.finalizar();
+			atual = null;
+		}
+	}
+
+	/**
+	 * Libera a criação de um novo renderer, para uma nova execução na mesma JVM.
+	 */
+	public static synchronized void reabrir() {
+		finalizado = false;
+	}
+
+	private static EvidenceRenderer criar(String formato) {
+		switch (formato) {
+			case "html": return new RenderizadorHtml();
+			case "jsonl": return new RenderizadorJsonLines();
+			case "docx": return new RenderizadorDocx();
+			default:
+				throw new IllegalArgumentException("Formato de evidencia desconhecido: '" + formato + "' (use docx, html ou jsonl)");
+		}
+	}
+}
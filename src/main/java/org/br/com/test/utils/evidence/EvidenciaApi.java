@@ -0,0 +1,39 @@
+package org.br.com.test.utils.evidence;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.br.com.core.filter.TrocaHttp;
+
+import java.util.List;
+
+/**
+ * Dados imutáveis de uma evidência de cenário de API.
+ * Montado pelo HooksEvidenciasApi no @After e entregue ao {@link EvidenciaExecutor},
+ * permitindo que a geração do documento aconteça fora da thread do cenário.
+ */
+@Getter
+@Builder
+public class EvidenciaApi {
+	private final String horaInicio;
+	private final String horaTermino;
+	private final String requestMethod;
+	private final String requestUri;
+	private final String headers;
+	private final String requestBody;
+	private final String statusCode;
+	private final String responseBody;
+	// Hash dos corpos no RepositorioBlobs (nulo com o repositório desabilitado); os corpos acima trazem só a prévia.
+	private final String requestBodyHash;
+	private final String responseBodyHash;
+	private final String tag;
+	private final String scenarioName;
+	private final String scenarioId;
+	// Id do cenário no Cucumber (uri:linha), usado para correlacionar eventos da execução.
+	private final String idCenario;
+	private final String featureName;
+	private final String failureLog;
+	private final boolean passed;
+	private final String caminhoArquivo;
+	// Trocas HTTP do cenário anteriores à principal, já formatadas, na ordem em que ocorreram.
+	private final List<TrocaHttp> trocasAnteriores;
+}
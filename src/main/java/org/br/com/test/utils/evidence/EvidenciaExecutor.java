@@ -0,0 +1,168 @@
+package org.br.com.test.utils.evidence;
+
+import lombok.extern.log4j.Log4j2;
+import org.br.com.core.support.logger.EventosExecucao;
+import org.br.com.test.utils.ExecucaoConfig;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor dedicado à geração de evidências, fora da thread do cenário.
+ * O cenário entrega uma {@link EvidenciaApi} imutável e segue para o próximo; a fila é limitada
+ * ("evidencia.fila.capacidade") e, quando cheia, a própria thread do cenário gera a evidência,
+ * servindo como contrapressão em vez de descartar documentos.
+ * RunnerTestApi.afterClass chama {@link #aguardarConclusao()} para esvaziar a fila antes de encerrar; a partir
+ * daí tarefas enviadas são descartadas com aviso no log, até {@link #iniciar()} abrir uma nova execução.
+ */
+@Log4j2
+public class EvidenciaExecutor {
+
+	// Prazo extra, após interromper os workers, para que terminem antes de o renderer ser finalizado.
+	private static final long ESPERA_INTERRUPCAO_SEGUNDOS = 10;
+
+	private static ThreadPoolExecutor executor;
+	private static boolean encerrado;
+	private static final AtomicInteger descartadas = new AtomicInteger();
+
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (encerrado) {
+			return null;
+		}
+		if (executor == null) {
+			int workers = ExecucaoConfig.getEvidenciaWorkers();
+			executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(ExecucaoConfig.getEvidenciaCapacidadeFila()),
+					new EvidenciaThreadFactory(),
+					new RejeicaoEvidencia());
+		}
+		return executor;
+	}
+
+	/**
+	 * Reabre o executor e os renderers para uma nova execução (RunnerTestApi.beforeClass).
+	 */
+	public static synchronized void iniciar() {
+		encerrado = false;
+		descartadas.set(0);
+		EvidenceRenderers.reabrir();
+	}
+
+	/**
+	 * Agenda a geração da evidência. Com "evidencia.assincrona=false" gera na thread atual.
+	 */
+	public static void enviar(EvidenciaApi evidencia) {
+		executar(() -> gerar(evidencia));
+	}
+
+	/**
+	 * Executa uma tarefa de evidência qualquer (ex: fechamento de PDF) com as mesmas regras de {@link #enviar}.
+	 */
+	public static void executar(Runnable tarefa) {
+		if (!ExecucaoConfig.isEvidenciaAssincrona()) {
+			tarefa.run();
+			return;
+		}
+		ThreadPoolExecutor atual = getExecutor();
+		if (atual == null) {
+			descartar();
+			return;
+		}
+		atual.execute(tarefa);
+	}
+
+	private static void descartar() {
+		log.warn("Evidencia enviada depois do encerramento da fila; descartada (" + descartadas.incrementAndGet() + " no total).");
+	}
+
+	/**
+	 * Gera a evidência imediatamente na thread atual, devolvendo o resultado para anexar ao relatório.
+	 */
+	public static EvidenciaGerada gerarAgora(EvidenciaApi evidencia) {
+		return gerar(evidencia);
+	}
+
+	private static EvidenciaGerada gerar(EvidenciaApi evidencia) {
+		long inicio = System.nanoTime();
+		EvidenceRenderer renderer = null;
+		EvidenciaGerada gerada = null;
+		try {
+			renderer = EvidenceRenderers.atual();
+			gerada = renderer.renderizar(evidencia);
+			return gerada;
+		} catch (Exception e) {
+			log.error("Erro ao gerar evidencia do cenario '" + evidencia.getScenarioName() + "': ", e);
+			return null;
+		} finally {
+			if (EventosExecucao.habilitado()) {
+				EventosExecucao.registrarNoCenario(evidencia.getIdCenario(), EventosExecucao.EVIDENCIA,
+						"formato", renderer != null ? renderer.getExtensao() : null, "sucesso", gerada != null,
+						"arquivo", gerada != null ? gerada.getCaminho().toString() : evidencia.getCaminhoArquivo(),
+						"duracaoMs", (System.nanoTime() - inicio) / 1_000_000);
+			}
+		}
+	}
+
+	/**
+	 * Aguarda a fila de evidências esvaziar, respeitando "evidencia.timeout.segundos".
+	 * Evidências ainda pendentes após o prazo são descartadas e contabilizadas no log; os workers em andamento
+	 * são interrompidos e ganham um prazo curto para terminar. Ao final, finaliza o {@link EvidenceRenderer}
+	 * em uso, que não é recriado por tarefas que ainda estejam rodando.
+	 */
+	public static synchronized void aguardarConclusao() {
+		encerrado = true;
+		if (executor == null) {
+			EvidenceRenderers.finalizar();
+			return;
+		}
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(ExecucaoConfig.getEvidenciaTimeoutSegundos(), TimeUnit.SECONDS)) {
+				int pendentes = executor.shutdownNow().size();
+				log.warn("Tempo esgotado aguardando evidencias; " + pendentes + " evidencia(s) nao gerada(s).");
+				if (!executor.awaitTermination(ESPERA_INTERRUPCAO_SEGUNDOS, TimeUnit.SECONDS)) {
+					log.warn("Workers de evidencia ainda em execucao; as evidencias em andamento podem ficar incompletas.");
+				}
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		} finally {
+			executor = null;
+			EvidenceRenderers.finalizar();
+			if (descartadas.get() > 0) {
+				log.warn(descartadas.get() + " evidencia(s) enviada(s) depois do encerramento da fila foram descartadas.");
+			}
+		}
+	}
+
+	/**
+	 * Fila cheia: a thread do cenário gera a evidência (contrapressão). Executor já encerrado: a tarefa é
+	 * descartada com aviso, em vez de sumir em silêncio como no CallerRunsPolicy.
+	 */
+	private static class RejeicaoEvidencia implements RejectedExecutionHandler {
+		@Override
+		public void rejectedExecution(Runnable tarefa, ThreadPoolExecutor origem) {
+			if (origem.isShutdown()) {
+				descartar();
+			} else {
+				tarefa.run();
+			}
+		}
+	}
+
+	private static class EvidenciaThreadFactory implements ThreadFactory {
+		private final AtomicInteger contador = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "evidencia-" + contador.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package org.br.com.test.utils.evidence;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado da geração de uma evidência: o arquivo gravado e, quando o documento foi montado
+ * em memória, os próprios bytes (permitindo anexar ao relatório sem reler o arquivo).
+ * Evidências escritas em streaming só têm o caminho ({@code conteudo} nulo).
+ */
+@Getter
+public class EvidenciaGerada {
+	private final Path caminho;
+	private final byte[] conteudo;
+
+	public EvidenciaGerada(Path caminho, byte[] conteudo) {
+		this.caminho = caminho;
+		this.conteudo = conteudo;
+	}
+}
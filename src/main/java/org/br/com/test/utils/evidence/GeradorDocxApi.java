@@ -1,215 +1,294 @@
 package org.br.com.test.utils.evidence;
 
 import lombok.extern.log4j.Log4j2;
+import org.br.com.core.filter.TrocaHttp;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.xwpf.usermodel.*;
+import org.br.com.test.utils.ExecucaoConfig;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Log4j2
 public class GeradorDocxApi {
 
-    private static final String MODELO_API_PATH = "src/main/resources/Evidencia Modelo API.docx";
     private static final String EVIDENCE_DIR = "target/evidence/api";
 
-    private static String horaInicio, horaTermino, requestMethod, requestUri, headers, requestBody, statusCode, responseBody, tag, scenarioName, featureName, failureLog;
-
-    public static void setApiData(String inicio, String termino, String method, String uri, String headersData, String body, String code, String response, String tagName, String scenario, String feature, String log) {
-        horaInicio = inicio; horaTermino = termino; requestMethod = method; requestUri = uri; headers = headersData;
-        requestBody = body; statusCode = code; responseBody = response; tag = tagName; scenarioName = scenario; featureName = feature;
-        failureLog = log;
+    /**
+     * Monta o caminho do arquivo DOCX da evidência:
+     * target/evidence/{feature}/{uuid}/{tag}_{cenario} - {data_hora}.docx
+     */
+    public static String montarCaminhoEvidencia(String tag, String aScenarioName, String uuidFeature, String featureFileName) {
+        return montarCaminhoEvidencia(tag, aScenarioName, uuidFeature, featureFileName, "docx");
     }
 
-    public static void gerarEvidenciaApi(String aScenarioName, String scenarioId, boolean passed, String uuidFeature, String featureFileName) {
+    /**
+     * Mesmo padrão de caminho, com a extensão do formato de evidência em uso.
+     */
+    public static String montarCaminhoEvidencia(String tag, String aScenarioName, String uuidFeature, String featureFileName, String extensao) {
         String cleanScenarioName = aScenarioName
                 .replaceAll("[^a-zA-Z0-9\\s]", "")
                 .replaceAll("\\s+", "_")
                 .toLowerCase();
         String dataHora = java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd_HH_mm_ss_SSS"));
-        String fileName = tag + "_" + cleanScenarioName + " - " + dataHora + ".docx";
-        String dirDocx = java.nio.file.Paths.get("target/evidence", featureFileName, uuidFeature, fileName).toString();
+        String fileName = tag + "_" + cleanScenarioName + " - " + dataHora + "." + extensao;
+        return java.nio.file.Paths.get("target/evidence", featureFileName, uuidFeature, fileName).toString();
+    }
+
+    /**
+     * Gera o DOCX da evidência e grava em disco.
+     * Só o modo de anexo "embutido" precisa dos bytes do documento; nos demais o POI escreve direto no arquivo.
+     * @return o caminho gravado e, no modo "embutido" via POI, os bytes do documento; null em caso de erro.
+     */
+    public static EvidenciaGerada gerarEvidenciaApi(EvidenciaApi evidencia) {
+        String dirDocx = evidencia.getCaminhoArquivo();
+        Path caminho = Paths.get(dirDocx);
         new java.io.File(dirDocx).getParentFile().mkdirs();
         try {
-            criarDocxApi(dirDocx, uuidFeature, passed);
+            // Corpos grandes vão direto para o zip, sem montar o DOM do POI.
+            if (EscritorDocxStreaming.deveUsar(evidencia)) {
+                EscritorDocxStreaming.escrever(dirDocx, evidencia);
+                return new EvidenciaGerada(caminho, null);
+            }
+            if (!"embutido".equals(ExecucaoConfig.getEvidenciaAnexoModo())) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(caminho))) {
+                    criarDocxApi(evidencia, out);
+                }
+                return new EvidenciaGerada(caminho, null);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(ModeloDocxCache.getBytes().length);
+            criarDocxApi(evidencia, out);
+            byte[] docx = out.toByteArray();
+            Files.write(caminho, docx);
 //            GeradorDocxApi.log.info("Evidencia DOCX gerada com sucesso: " + dirDocx);
+            return new EvidenciaGerada(caminho, docx);
         } catch (IOException | org.apache.poi.openxml4j.exceptions.InvalidFormatException e) {
             GeradorDocxApi.log.error("Erro ao gerar evidencia DOCX: ", e);
+            return null;
         }
     }
 
-    private static void criarDocxApi(String docxFilePath, String idExecucao, boolean passed) throws IOException, InvalidFormatException {
-        try (FileInputStream fis = new FileInputStream(MODELO_API_PATH);
-             XWPFDocument templateDoc = new XWPFDocument(fis);
-             FileOutputStream fos = new FileOutputStream(docxFilePath)) {
+    private static void criarDocxApi(EvidenciaApi evidencia, OutputStream out) throws IOException, InvalidFormatException {
+        try (XWPFDocument templateDoc = ModeloDocxCache.abrirCopia()) {
+
+            replacePlaceholders(templateDoc, ModeloDocxCache.getMapa(), evidencia);
 
-            replacePlaceholders(templateDoc, idExecucao, passed);
+            List<TrocaHttp> trocasAnteriores = evidencia.getTrocasAnteriores();
+            if (trocasAnteriores != null && !trocasAnteriores.isEmpty()) {
+                appendTrocasAnteriores(templateDoc, trocasAnteriores);
+            }
 
+            String failureLog = evidencia.getFailureLog();
             if (failureLog != null && !failureLog.isEmpty()) {
                 appendFailureLog(templateDoc, failureLog);
             }
 
-            templateDoc.write(fos);
+            templateDoc.write(out);
+        }
+    }
+
+    /**
+     * Valor de um placeholder com as regras de estilo aplicadas a ele.
+     */
+    static class Substituicao {
+        final String texto;
+        final String hexColor;
+        final ParagraphAlignment alignment;
+        final Integer fontSize;
+
+        Substituicao(String texto, String hexColor, ParagraphAlignment alignment, Integer fontSize) {
+            this.texto = texto == null ? "" : texto;
+            this.hexColor = hexColor;
+            this.alignment = alignment;
+            this.fontSize = fontSize;
         }
     }
 
-    private static void replacePlaceholders(XWPFDocument doc, String idExecucao, boolean passed) {
+    /**
+     * Preenche todos os placeholders em uma única passada sobre as ocorrências já mapeadas no modelo.
+     */
+    private static void replacePlaceholders(XWPFDocument doc, MapaPlaceholders mapa, EvidenciaApi evidencia) {
+        Map<String, Substituicao> valores = montarSubstituicoes(evidencia);
+        boolean passed = evidencia.isPassed();
         String statusValue = passed ? "PASSED" : "FAILED";
         String statusColor = passed ? "00B050" : "FF0000";
+
+        for (MapaPlaceholders.Ocorrencia ocorrencia : mapa.getOcorrencias()) {
+            XWPFParagraph p = ocorrencia.resolver(doc);
+            if (MapaPlaceholders.STATUS.equals(ocorrencia.getPlaceholder())) {
+                replaceStatus(p, statusValue, statusColor);
+                continue;
+            }
+            Substituicao valor = valores.get(ocorrencia.getPlaceholder());
+            if (valor != null) {
+                replaceInParagraph(p, ocorrencia.getPlaceholder(), valor);
+            }
+        }
+    }
+
+    static Map<String, Substituicao> montarSubstituicoes(EvidenciaApi evidencia) {
         String dataAtual = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        String requestMethod = evidencia.getRequestMethod();
+        String statusCode = evidencia.getStatusCode();
+
+        Map<String, Substituicao> valores = new HashMap<>();
+        valores.put("{{projeto}}", new Substituicao("Projeto de test de API", null, null, null));
+        valores.put("{{data}}", new Substituicao("Data: " + dataAtual, null, null, null));
+        valores.put("{{feature}}", new Substituicao(evidencia.getFeatureName(), null, null, null));
+        valores.put("{{scenario}}", new Substituicao(evidencia.getTag() + ": " + evidencia.getScenarioName(), null, null, null));
+        valores.put("{{inicio}}", new Substituicao(evidencia.getHoraInicio(), null, null, null));
+        valores.put("{{fim}}", new Substituicao(evidencia.getHoraTermino(), null, null, null));
+        valores.put("{{requestMethod}}", new Substituicao(requestMethod, getColorForMethod(requestMethod), null, null));
+        valores.put("{{requestUri}}", new Substituicao(evidencia.getRequestUri(), null, null, null));
+        valores.put("{{headers}}", new Substituicao(evidencia.getHeaders(), null, null, null));
+        valores.put("{{requestBody}}", new Substituicao(evidencia.getRequestBody(), null, null, null));
 
-        findAndReplace(doc, "{{projeto}}", "Projeto de test de API");
-        findAndReplace(doc, "{{data}}", "Data: " + dataAtual);
-        findAndReplace(doc, "{{feature}}", featureName);
-        String scenarioField = tag + ": " + scenarioName;
-        findAndReplace(doc, "{{scenario}}", scenarioField);
-        findAndReplace(doc, "{{inicio}}", horaInicio);
-        findAndReplace(doc, "{{fim}}", horaTermino);
-        replaceStatusPlaceholder(doc, statusValue, statusColor);
-        findAndReplace(doc, "{{requestMethod}}", requestMethod, getColorForMethod(requestMethod));
-        findAndReplace(doc, "{{requestUri}}", requestUri);
-        findAndReplace(doc, "{{headers}}", headers);
-        findAndReplace(doc, "{{requestBody}}", requestBody);
-
-        if (!passed) {
-            findAndReplace(doc, "{{statusCode}}", "Falha na validacao. Status real: " + statusCode, "FF0000");
+        if (!evidencia.isPassed()) {
+            valores.put("{{statusCode}}", new Substituicao("Falha na validacao. Status real: " + statusCode, "FF0000", null, null));
         } else {
-            findAndReplace(doc, "{{statusCode}}", statusCode, getColorForStatusCode(statusCode));
+            valores.put("{{statusCode}}", new Substituicao(statusCode, getColorForStatusCode(statusCode), null, null));
         }
 
-        findAndReplace(doc, "{{responseBody}}", responseBody);
+        valores.put("{{responseBody}}", new Substituicao(evidencia.getResponseBody(), null, null, null));
 
         // >>>>>>>> ALTERAÇÃO FINAL DO ALINHAMENTO AQUI <<<<<<<<<<
-        // O quarto parâmetro (alinhamento) foi alterado de CENTER para RIGHT.
-        findAndReplace(doc, "{{idExecucao}}", "ID Execucao: " + idExecucao, null, ParagraphAlignment.RIGHT, 6);
+        // O alinhamento foi alterado de CENTER para RIGHT.
+        valores.put("{{idExecucao}}", new Substituicao("ID Execucao: " + evidencia.getScenarioId(), null, ParagraphAlignment.RIGHT, 6));
+        return valores;
     }
 
-    private static void findAndReplace(XWPFDocument doc, String placeholder, String replacement) { findAndReplace(doc, placeholder, replacement, null, null, null); }
-    private static void findAndReplace(XWPFDocument doc, String placeholder, String replacement, String hexColor) { findAndReplace(doc, placeholder, replacement, hexColor, null, null); }
-
-    private static void replaceInParagraphs(List<XWPFParagraph> paragraphs, String placeholder, String replacement, String hexColor, ParagraphAlignment alignment, Integer fontSize) {
-        if (replacement == null) {
-            replacement = "";
+    private static void replaceInParagraph(XWPFParagraph p, String placeholder, Substituicao valor) {
+        String replacement = valor.texto;
+        String hexColor = valor.hexColor;
+        String fontFamily = "Arial";
+        int size = 10;
+        if (!p.getRuns().isEmpty()) {
+            XWPFRun originalRun = p.getRuns().get(0);
+            if (originalRun.getFontFamily() != null) fontFamily = originalRun.getFontFamily();
+            if (originalRun.getFontSize() > 0) size = originalRun.getFontSize();
+        }
+        for (int i = p.getRuns().size() - 1; i >= 0; i--) {
+            p.removeRun(i);
         }
-        for (XWPFParagraph p : paragraphs) {
-            if (p.getText() != null && p.getText().contains(placeholder)) {
-                String fontFamily = "Arial";
-                int size = 10;
-                if (!p.getRuns().isEmpty()) {
-                    XWPFRun originalRun = p.getRuns().get(0);
-                    if (originalRun.getFontFamily() != null) fontFamily = originalRun.getFontFamily();
-                    if (originalRun.getFontSize() > 0) size = originalRun.getFontSize();
-                }
-                for (int i = p.getRuns().size() - 1; i >= 0; i--) {
-                    p.removeRun(i);
-                }
 
-                if (placeholder.equals("{{requestBody}}") || placeholder.equals("{{responseBody}}") || placeholder.equals("{{headers}}")) {
-                    String[] lines = replacement.split("\\r?\\n");
-                    for (int i = 0; i < lines.length; i++) {
-                        XWPFRun run = p.createRun();
-                        run.setText(lines[i].replace("\t", "    "));
-                        run.setFontFamily(fontFamily);
-                        run.setFontSize(size);
-                        if (i < lines.length - 1) {
-                            run.addBreak();
-                        }
-                    }
-                } else if (placeholder.equals("{{data}}") && replacement.startsWith("Data: ")) {
-                    String prefix = "Data: ";
-                    String value = replacement.substring(prefix.length());
-                    XWPFRun runPrefix = p.createRun();
-                    runPrefix.setText(prefix);
-                    runPrefix.setFontFamily(fontFamily);
-                    runPrefix.setFontSize(size);
-                    runPrefix.setBold(true);
-
-                    XWPFRun runValue = p.createRun();
-                    runValue.setText(value);
-                    runValue.setFontFamily(fontFamily);
-                    runValue.setFontSize(size);
-                } else if (placeholder.equals("{{requestMethod}}") || placeholder.equals("{{statusCode}}")) {
-                    XWPFRun run = p.createRun();
-                    run.setText(replacement);
-                    run.setFontFamily(fontFamily);
-                    run.setFontSize(size);
-                    run.setBold(true);
-                    if (hexColor != null) {
-                        run.setColor(hexColor);
-                    }
-                } else {
-                    XWPFRun run = p.createRun();
-                    run.setText(replacement);
-                    run.setFontFamily(fontFamily);
-                    run.setFontSize(size);
-                    if (hexColor != null) {
-                        run.setColor(hexColor);
-                    }
+        if (placeholder.equals("{{requestBody}}") || placeholder.equals("{{responseBody}}") || placeholder.equals("{{headers}}")) {
+            String[] lines = replacement.split("\\r?\\n");
+            for (int i = 0; i < lines.length; i++) {
+                XWPFRun run = p.createRun();
+                run.setText(lines[i].replace("\t", "    "));
+                run.setFontFamily(fontFamily);
+                run.setFontSize(size);
+                if (i < lines.length - 1) {
+                    run.addBreak();
                 }
+            }
+        } else if (placeholder.equals("{{data}}") && replacement.startsWith("Data: ")) {
+            String prefix = "Data: ";
+            String value = replacement.substring(prefix.length());
+            XWPFRun runPrefix = p.createRun();
+            runPrefix.setText(prefix);
+            runPrefix.setFontFamily(fontFamily);
+            runPrefix.setFontSize(size);
+            runPrefix.setBold(true);
 
-                if (fontSize != null) {
-                    for(XWPFRun r : p.getRuns()) {
-                        r.setFontSize(fontSize);
-                    }
-                }
-                if (alignment != null) {
-                    p.setAlignment(alignment);
-                }
+            XWPFRun runValue = p.createRun();
+            runValue.setText(value);
+            runValue.setFontFamily(fontFamily);
+            runValue.setFontSize(size);
+        } else if (placeholder.equals("{{requestMethod}}") || placeholder.equals("{{statusCode}}")) {
+            XWPFRun run = p.createRun();
+            run.setText(replacement);
+            run.setFontFamily(fontFamily);
+            run.setFontSize(size);
+            run.setBold(true);
+            if (hexColor != null) {
+                run.setColor(hexColor);
+            }
+        } else {
+            XWPFRun run = p.createRun();
+            run.setText(replacement);
+            run.setFontFamily(fontFamily);
+            run.setFontSize(size);
+            if (hexColor != null) {
+                run.setColor(hexColor);
             }
         }
-    }
 
-
-    private static void findAndReplace(XWPFDocument doc, String placeholder, String replacement, String hexColor, ParagraphAlignment alignment, Integer fontSize) {
-        if (replacement == null) replacement = "";
-        replaceInParagraphs(doc.getParagraphs(), placeholder, replacement, hexColor, alignment, fontSize);
-
-        for (XWPFTable table : doc.getTables()) {
-            for (XWPFTableRow row : table.getRows()) {
-                for (XWPFTableCell cell : row.getTableCells()) {
-                    replaceInParagraphs(cell.getParagraphs(), placeholder, replacement, hexColor, alignment, fontSize);
-                }
+        if (valor.fontSize != null) {
+            for (XWPFRun r : p.getRuns()) {
+                r.setFontSize(valor.fontSize);
             }
         }
+        if (valor.alignment != null) {
+            p.setAlignment(valor.alignment);
+        }
     }
 
-    private static void replaceStatusPlaceholder(XWPFDocument doc, String statusValue, String statusColor) {
-        String placeholder = "{{status}}";
-        for (XWPFTable table : doc.getTables()) {
-            for (XWPFTableRow row : table.getRows()) {
-                for (XWPFTableCell cell : row.getTableCells()) {
-                    if (cell.getText() != null && cell.getText().contains(placeholder)) {
-                        for (XWPFParagraph p : cell.getParagraphs()) {
-                            String fontFamily = "Arial";
-                            int size = 10;
-                            if (!p.getRuns().isEmpty()) {
-                                XWPFRun originalRun = p.getRuns().get(0);
-                                if (originalRun.getFontFamily() != null) fontFamily = originalRun.getFontFamily();
-                                if (originalRun.getFontSize() > 0) size = originalRun.getFontSize();
-                            }
-                            for (int i = p.getRuns().size() - 1; i >= 0; i--) {
-                                p.removeRun(i);
-                            }
-                            XWPFRun runLabel = p.createRun();
-                            runLabel.setText("Status: ");
-                            runLabel.setFontFamily(fontFamily);
-                            runLabel.setFontSize(size);
-                            runLabel.setBold(true);
-
-                            XWPFRun runValue = p.createRun();
-                            runValue.setText(statusValue);
-                            runValue.setColor(statusColor);
-                            runValue.setBold(true);
-                            runValue.setFontFamily(fontFamily);
-                            runValue.setFontSize(size);
-                        }
-                        return;
-                    }
-                }
+    private static void replaceStatus(XWPFParagraph p, String statusValue, String statusColor) {
+        String fontFamily = "Arial";
+        int size = 10;
+        if (!p.getRuns().isEmpty()) {
+            XWPFRun originalRun = p.getRuns().get(0);
+            if (originalRun.getFontFamily() != null) fontFamily = originalRun.getFontFamily();
+            if (originalRun.getFontSize() > 0) size = originalRun.getFontSize();
+        }
+        for (int i = p.getRuns().size() - 1; i >= 0; i--) {
+            p.removeRun(i);
+        }
+        XWPFRun runLabel = p.createRun();
+        runLabel.setText("Status: ");
+        runLabel.setFontFamily(fontFamily);
+        runLabel.setFontSize(size);
+        runLabel.setBold(true);
+
+        XWPFRun runValue = p.createRun();
+        runValue.setText(statusValue);
+        runValue.setColor(statusColor);
+        runValue.setBold(true);
+        runValue.setFontFamily(fontFamily);
+        runValue.setFontSize(size);
+    }
+
+    /**
+     * Lista as requisições feitas pelo cenário antes da principal (a última, exibida na tabela do modelo).
+     */
+    private static void appendTrocasAnteriores(XWPFDocument doc, List<TrocaHttp> trocas) {
+        doc.createParagraph().createRun().addBreak();
+        XWPFParagraph title = doc.createParagraph();
+        title.setAlignment(ParagraphAlignment.LEFT);
+        XWPFRun titleRun = title.createRun();
+        titleRun.setText("Requisicoes anteriores do cenario:");
+        titleRun.setBold(true);
+        titleRun.setUnderline(UnderlinePatterns.SINGLE);
+
+        for (int n = 0; n < trocas.size(); n++) {
+            TrocaHttp troca = trocas.get(n);
+            XWPFParagraph header = doc.createParagraph();
+            XWPFRun headerRun = header.createRun();
+            headerRun.setText("Requisicao " + (n + 1) + ": " + troca.getMethod() + " " + troca.getUri()
+                    + " - Status Code: " + troca.getStatusCode());
+            headerRun.setBold(true);
+            headerRun.setFontFamily("Arial");
+            headerRun.setFontSize(9);
+
+            XWPFParagraph body = doc.createParagraph();
+            XWPFRun bodyRun = body.createRun();
+            bodyRun.setFontFamily("Courier New");
+            bodyRun.setFontSize(8);
+            String[] lines = ("Request Body:\n" + troca.getRequestBody() + "\nResponse Body:\n" + troca.getResponseBody()).split("\\r?\\n");
+            for (int i = 0; i < lines.length; i++) {
+                bodyRun.setText(lines[i].replace("\t", "    "));
+                if (i < lines.length - 1) bodyRun.addBreak();
             }
         }
     }
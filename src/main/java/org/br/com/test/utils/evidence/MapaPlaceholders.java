@@ -0,0 +1,115 @@
+package org.br.com.test.utils.evidence;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Localização de todos os placeholders {{...}} do modelo de evidência.
+ * É montado uma única vez, a partir do modelo em cache, e registra cada ocorrência pelos índices
+ * (tabela, linha, célula, parágrafo). Como toda cópia do modelo tem a mesma estrutura, cada cenário
+ * resolve os parágrafos diretamente pelos índices, sem percorrer o documento inteiro por placeholder.
+ */
+public class MapaPlaceholders {
+
+	public static final String STATUS = "{{status}}";
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{[A-Za-z0-9_]+\\}\\}");
+	private static final int CORPO = -1;
+
+	/**
+	 * Ocorrência de um placeholder. Para parágrafos do corpo do documento, {@code tabela} é -1.
+	 */
+	public static class Ocorrencia {
+		private final String placeholder;
+		private final int tabela;
+		private final int linha;
+		private final int celula;
+		private final int paragrafo;
+
+		private Ocorrencia(String placeholder, int tabela, int linha, int celula, int paragrafo) {
+			this.placeholder = placeholder;
+			this.tabela = tabela;
+			this.linha = linha;
+			this.celula = celula;
+			this.paragrafo = paragrafo;
+		}
+
+		public String getPlaceholder() {
+			return placeholder;
+		}
+
+		public XWPFParagraph resolver(XWPFDocument doc) {
+			if (tabela == CORPO) {
+				return doc.getParagraphs().get(paragrafo);
+			}
+			return doc.getTables().get(tabela).getRow(linha).getCell(celula).getParagraphs().get(paragrafo);
+		}
+	}
+
+	private final List<Ocorrencia> ocorrencias;
+
+	private MapaPlaceholders(List<Ocorrencia> ocorrencias) {
+		this.ocorrencias = Collections.unmodifiableList(ocorrencias);
+	}
+
+	public List<Ocorrencia> getOcorrencias() {
+		return ocorrencias;
+	}
+
+	/**
+	 * Percorre o modelo uma única vez registrando onde está cada placeholder.
+	 * Regra herdada do gerador: {{status}} ocupa a primeira célula em que aparece,
+	 * e todos os parágrafos dessa célula são reescritos.
+	 */
+	public static MapaPlaceholders de(XWPFDocument modelo) {
+		List<Ocorrencia> encontradas = new ArrayList<>();
+
+		List<XWPFParagraph> paragrafos = modelo.getParagraphs();
+		for (int p = 0; p < paragrafos.size(); p++) {
+			registrar(encontradas, paragrafos.get(p).getText(), CORPO, 0, 0, p);
+		}
+
+		boolean statusEncontrado = false;
+		List<XWPFTable> tabelas = modelo.getTables();
+		for (int t = 0; t < tabelas.size(); t++) {
+			List<XWPFTableRow> linhas = tabelas.get(t).getRows();
+			for (int l = 0; l < linhas.size(); l++) {
+				List<XWPFTableCell> celulas = linhas.get(l).getTableCells();
+				for (int c = 0; c < celulas.size(); c++) {
+					XWPFTableCell celula = celulas.get(c);
+					List<XWPFParagraph> paragrafosCelula = celula.getParagraphs();
+					if (!statusEncontrado && celula.getText() != null && celula.getText().contains(STATUS)) {
+						statusEncontrado = true;
+						for (int p = 0; p < paragrafosCelula.size(); p++) {
+							encontradas.add(new Ocorrencia(STATUS, t, l, c, p));
+						}
+						continue;
+					}
+					for (int p = 0; p < paragrafosCelula.size(); p++) {
+						registrar(encontradas, paragrafosCelula.get(p).getText(), t, l, c, p);
+					}
+				}
+			}
+		}
+		return new MapaPlaceholders(encontradas);
+	}
+
+	private static void registrar(List<Ocorrencia> encontradas, String texto, int tabela, int linha, int celula, int paragrafo) {
+		if (texto == null || texto.isEmpty()) {
+			return;
+		}
+		Matcher matcher = PLACEHOLDER.matcher(texto);
+		if (matcher.find() && !STATUS.equals(matcher.group())) {
+			encontradas.add(new Ocorrencia(matcher.group(), tabela, linha, celula, paragrafo));
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.br.com.test.utils.evidence;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Mantém em memória o pacote do modelo "Evidencia Modelo API.docx".
+ * O arquivo é lido do disco uma única vez (na primeira evidência) e cada cenário
+ * recebe uma cópia independente aberta a partir desses bytes. O mapa de placeholders
+ * ({@link MapaPlaceholders}) também é calculado uma única vez sobre o modelo.
+ */
+public class ModeloDocxCache {
+
+	private static final String MODELO_API_PATH = "src/main/resources/Evidencia Modelo API.docx";
+
+	private static volatile byte[] modelo;
+	private static volatile MapaPlaceholders mapa;
+
+	private ModeloDocxCache() {
+	}
+
+	public static byte[] getBytes() throws IOException {
+		byte[] bytes = modelo;
+		if (bytes == null) {
+			synchronized (ModeloDocxCache.class) {
+				bytes = modelo;
+				if (bytes == null) {
+					bytes = Files.readAllBytes(Paths.get(MODELO_API_PATH));
+					modelo = bytes;
+				}
+			}
+		}
+		return bytes;
+	}
+
+	public static MapaPlaceholders getMapa() throws IOException {
+		MapaPlaceholders resultado = mapa;
+		if (resultado == null) {
+			synchronized (ModeloDocxCache.class) {
+				resultado = mapa;
+				if (resultado == null) {
+					try (XWPFDocument doc = abrirCopia()) {
+						resultado = MapaPlaceholders.de(doc);
+					}
+					mapa = resultado;
+				}
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Abre uma nova cópia do modelo, que pode ser alterada livremente pelo chamador.
+	 */
+	public static XWPFDocument abrirCopia() throws IOException {
+		return new XWPFDocument(new ByteArrayInputStream(getBytes()));
+	}
+}
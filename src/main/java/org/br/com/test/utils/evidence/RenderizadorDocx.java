@@ -0,0 +1,23 @@
+package org.br.com.test.utils.evidence;
+
+/**
+ * Evidência em DOCX a partir do modelo "Evidencia Modelo API.docx" (comportamento original, via {@link GeradorDocxApi}).
+ */
+public class RenderizadorDocx implements EvidenceRenderer {
+
+	@Override
+	public String getExtensao() {
+		return "docx";
+	}
+
+	@Override
+	public String getMimeType() {
+		return "application/vnd.openxmlformats-officedocument-wordprocessingml-document";
+	}
+
+	@Override
+	public EvidenciaGerada renderizar(EvidenciaApi evidencia) {
+		// GeradorDocxApi já registra o erro e devolve null quando a geração falha.
+		return GeradorDocxApi.gerarEvidenciaApi(evidencia);
+	}
+}
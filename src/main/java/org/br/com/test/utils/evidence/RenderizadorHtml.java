@@ -0,0 +1,115 @@
+package org.br.com.test.utils.evidence;
+
+import org.br.com.core.filter.TrocaHttp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Evidência em HTML simples, escrita em streaming direto para o arquivo (sem montar documento em memória).
+ * Mesmo conteúdo do DOCX: dados do cenário, requisição principal, requisições anteriores e log de falha.
+ */
+public class RenderizadorHtml implements EvidenceRenderer {
+
+	private static final String ESTILO = "body{font-family:Arial,sans-serif;font-size:13px;margin:24px}"
+			+ "table{border-collapse:collapse}td{border:1px solid #ccc;padding:4px 8px;vertical-align:top}"
+			+ "td.c{font-weight:bold;background:#f4f4f4}pre{font-family:'Courier New',monospace;font-size:11px;"
+			+ "background:#f8f8f8;padding:8px;white-space:pre-wrap}.passed{color:#00B050}.failed{color:#FF0000}";
+
+	@Override
+	public String getExtensao() {
+		return "html";
+	}
+
+	@Override
+	public String getMimeType() {
+		return "text/html";
+	}
+
+	@Override
+	public EvidenciaGerada renderizar(EvidenciaApi evidencia) throws IOException {
+		Path caminho = Paths.get(evidencia.getCaminhoArquivo());
+		Files.createDirectories(caminho.toAbsolutePath().getParent());
+		try (BufferedWriter out = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8)) {
+			out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>");
+			escrever(out, evidencia.getTag() + ": " + evidencia.getScenarioName());
+			out.write("</title><style>" + ESTILO + "</style></head><body>\n<h2>");
+			escrever(out, evidencia.getTag() + ": " + evidencia.getScenarioName());
+			out.write("</h2>\n<table>\n");
+			linha(out, "Feature", evidencia.getFeatureName());
+			out.write("<tr><td class=\"c\">Status</td><td class=\"" + (evidencia.isPassed() ? "passed\">PASSED" : "failed\">FAILED") + "</td></tr>\n");
+			linha(out, "Inicio", evidencia.getHoraInicio());
+			linha(out, "Fim", evidencia.getHoraTermino());
+			linha(out, "ID Execucao", evidencia.getScenarioId());
+			linha(out, "Request", evidencia.getRequestMethod() + " " + evidencia.getRequestUri());
+			linha(out, "Status Code", evidencia.getStatusCode());
+			out.write("</table>\n");
+
+			bloco(out, "Headers", evidencia.getHeaders());
+			bloco(out, "Request Body", evidencia.getRequestBody());
+			bloco(out, "Response Body", evidencia.getResponseBody());
+
+			List<TrocaHttp> trocas = evidencia.getTrocasAnteriores();
+			if (trocas != null && !trocas.isEmpty()) {
+				out.write("<h3>Requisicoes anteriores do cenario</h3>\n");
+				for (int n = 0; n < trocas.size(); n++) {
+					TrocaHttp troca = trocas.get(n);
+					out.write("<h4>");
+					escrever(out, "Requisicao " + (n + 1) + ": " + troca.getMethod() + " " + troca.getUri()
+							+ " - Status Code: " + troca.getStatusCode());
+					out.write("</h4>\n");
+					bloco(out, "Request Body", troca.getRequestBody());
+					bloco(out, "Response Body", troca.getResponseBody());
+				}
+			}
+
+			String failureLog = evidencia.getFailureLog();
+			if (failureLog != null && !failureLog.isEmpty()) {
+				bloco(out, "Log de Falha", failureLog);
+			}
+			out.write("</body></html>\n");
+		}
+		return new EvidenciaGerada(caminho, null);
+	}
+
+	private static void linha(Writer out, String campo, String valor) throws IOException {
+		out.write("<tr><td class=\"c\">");
+		out.write(campo);
+		out.write("</td><td>");
+		escrever(out, valor);
+		out.write("</td></tr>\n");
+	}
+
+	private static void bloco(Writer out, String titulo, String conteudo) throws IOException {
+		out.write("<h4>");
+		out.write(titulo);
+		out.write("</h4><pre>");
+		escrever(out, conteudo);
+		out.write("</pre>\n");
+	}
+
+	/**
+	 * Escreve o texto escapado para HTML caractere a caractere, sem criar cópias intermediárias.
+	 */
+	private static void escrever(Writer out, String texto) throws IOException {
+		if (texto == null) {
+			return;
+		}
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			switch (c) {
+				case '<': out.write("&lt;"); break;
+				case '>': out.write("&gt;"); break;
+				case '&': out.write("&amp;"); break;
+				case '"': out.write("&quot;"); break;
+				default: out.write(c);
+			}
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package org.br.com.test.utils.evidence;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.log4j.Log4j2;
+import org.br.com.core.filter.TrocaHttp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Evidências em JSON-lines: um objeto JSON por cenário, todos no mesmo arquivo da execução
+ * (target/evidence/evidencias.jsonl). Voltado a CI, onde só é preciso evidência legível por máquina.
+ * Cada corpo traz a prévia formatada e mascarada e, quando está no RepositorioBlobs, o hash do blob com o corpo completo.
+ */
+@Log4j2
+public class RenderizadorJsonLines implements EvidenceRenderer {
+
+	private static final Path ARQUIVO = Paths.get("target", "evidence", "evidencias.jsonl");
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private Writer writer;
+
+	@Override
+	public String getExtensao() {
+		return "jsonl";
+	}
+
+	@Override
+	public String getMimeType() {
+		return "application/x-ndjson";
+	}
+
+	@Override
+	public Path caminhoAnexo(String caminhoCenario) {
+		return ARQUIVO;
+	}
+
+	@Override
+	public synchronized EvidenciaGerada renderizar(EvidenciaApi evidencia) throws IOException {
+		if (writer == null) {
+			Files.createDirectories(ARQUIVO.getParent());
+			writer = new BufferedWriter(Files.newBufferedWriter(ARQUIVO, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+		}
+		JsonGenerator gen = JSON_FACTORY.createGenerator(writer);
+		gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		gen.writeStartObject();
+		gen.writeStringField("feature", evidencia.getFeatureName());
+		gen.writeStringField("tag", evidencia.getTag());
+		gen.writeStringField("scenario", evidencia.getScenarioName());
+		gen.writeStringField("scenarioId", evidencia.getScenarioId());
+		gen.writeStringField("status", evidencia.isPassed() ? "PASSED" : "FAILED");
+		gen.writeStringField("inicio", evidencia.getHoraInicio());
+		gen.writeStringField("fim", evidencia.getHoraTermino());
+		gen.writeStringField("method", evidencia.getRequestMethod());
+		gen.writeStringField("uri", evidencia.getRequestUri());
+		gen.writeStringField("statusCode", evidencia.getStatusCode());
+		gen.writeStringField("headers", evidencia.getHeaders());
+		corpo(gen, "requestBody", evidencia.getRequestBody(), evidencia.getRequestBodyHash());
+		corpo(gen, "responseBody", evidencia.getResponseBody(), evidencia.getResponseBodyHash());
+
+		List<TrocaHttp> trocas = evidencia.getTrocasAnteriores();
+		if (trocas != null && !trocas.isEmpty()) {
+			gen.writeArrayFieldStart("trocasAnteriores");
+			for (TrocaHttp troca : trocas) {
+				gen.writeStartObject();
+				gen.writeStringField("method", troca.getMethod());
+				gen.writeStringField("uri", troca.getUri());
+				gen.writeStringField("statusCode", troca.getStatusCode());
+				corpo(gen, "requestBody", troca.getRequestBody(), troca.getRequestBodyHash());
+				corpo(gen, "responseBody", troca.getResponseBody(), troca.getResponseBodyHash());
+				gen.writeEndObject();
+			}
+			gen.writeEndArray();
+		}
+		if (evidencia.getFailureLog() != null) {
+			gen.writeStringField("failureLog", evidencia.getFailureLog());
+		}
+		gen.writeEndObject();
+		gen.close();
+		writer.write('\n');
+		return new EvidenciaGerada(ARQUIVO, null);
+	}
+
+	/**
+	 * Grava a prévia do corpo (já formatada e mascarada) e, se houver, o hash do blob com o corpo completo.
+	 */
+	private static void corpo(JsonGenerator gen, String campo, String texto, String hash) throws IOException {
+		gen.writeStringField(campo, texto);
+		if (hash != null) {
+			gen.writeStringField(campo + "Hash", hash);
+		}
+	}
+
+	@Override
+	public synchronized void finalizar() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			log.error("Erro ao fechar arquivo de evidencias JSON-lines: ", e);
+		} finally {
+			writer = null;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package org.br.com.test.utils.hooks;
+
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import org.br.com.core.support.ContextoCenario;
+
+public class HooksContexto {
+
+	/**
+	 * Cria o {@link ContextoCenario} antes de qualquer outro hook, já que os demais @Before
+	 * (ex: carga da massa em HooksDados) gravam dados no contexto do cenário.
+	 */
+	@Before(order = 0)
+	public void iniciarContexto(Scenario cenario) {
+		ContextoCenario.iniciar(cenario.getId(), cenario.getUri().toString());
+	}
+
+	/**
+	 * Desvincula o contexto da thread depois de todos os outros @After (que rodam em ordem decrescente).
+	 */
+	@After(order = 0)
+	public void encerrarContexto() {
+		ContextoCenario.encerrar();
+	}
+}
@@ -4,6 +4,7 @@ import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import lombok.Getter;
 import org.br.com.core.support.Context;
+import org.br.com.core.support.logger.EventosExecucao;
 import org.br.com.core.support.logger.LogFormatter;
 import org.br.com.test.sheets.cadastro.CadastroDataSheet;
 import org.br.com.test.sheets.login.LoginDataSheet;
@@ -38,41 +39,46 @@ public class HooksDados {
                 .orElse(null);
 
         if (tagCenario == null) {
-            System.out.println("ℹ️  Nenhuma tag @CT- encontrada no cenário: " + cenario.getName());
+            LogFormatter.logStep("ℹ️  Nenhuma tag @CT- encontrada no cenário: " + cenario.getName());
             return; // Sai do método se não houver tag de cenário
         }
 
         String idCenario = tagCenario.replace("@CT-", "");
         Context.setIdUsuario(idCenario); // Consider renaming this to setIdCenario for clarity
 
+        long inicioCarga = System.nanoTime();
+        boolean carregada = false;
         try {
-            System.out.println("🆔 ID Cenário: " + idCenario);
+            LogFormatter.logStep("🆔 ID Cenário: " + idCenario);
             LoginDataSheet sheet = new LoginDataSheet(idCenario);
             LoginModel usuario = sheet.getData();
             Context.setData(usuario);
 
-            System.out.println("✅ Massa de Dados Carregada:");
-            System.out.println("   📧 Email: " + usuario.getEmail());
-            System.out.println("   🔑 Senha: " + usuario.getSenha());
+            LogFormatter.logStep("✅ Massa de Dados Carregada:");
+            LogFormatter.logStep("   📧 Email: " + usuario.getEmail());
 
             // Tentar carregar dados de cadastro se houver um ID_MASSA
             String idMassa = sheet.getIdMassa();
             if (idMassa != null && !idMassa.isEmpty()) {
                 CadastroDataSheet cadastroSheet = new CadastroDataSheet(idMassa);
                 // Store the sheet itself for more flexible access in steps
-                Context.put("cadastroSheet", cadastroSheet);
-                System.out.println("   👤 Nome: " + cadastroSheet.getNomeCompleto());
-                System.out.println("   🔖 Nome Usuário: " + cadastroSheet.getNomeUsuario());
-                System.out.println("   🆔 ID Usuário: " + cadastroSheet.getIdUsuario());
+                Context.put(Context.CADASTRO_SHEET, cadastroSheet);
+                LogFormatter.logStep("   👤 Nome: " + cadastroSheet.getNomeCompleto());
+                LogFormatter.logStep("   🔖 Nome Usuário: " + cadastroSheet.getNomeUsuario());
+                LogFormatter.logStep("   🆔 ID Usuário: " + cadastroSheet.getIdUsuario());
             }
+            carregada = true;
 
         } catch (Exception e) {
             // IMPROVEMENT: Fail the test immediately if data cannot be loaded.
             // This prevents misleading failures later on.
             String errorMessage = "❌ FALHA CRÍTICA: Não foi possível carregar a massa de dados para o cenário " + idCenario + ". Causa: " + e.getMessage();
-            System.err.println(errorMessage);
+            LogFormatter.logError(errorMessage);
             e.printStackTrace();
             Assert.fail(errorMessage); // This will stop the test with a clear message.
+        } finally {
+            EventosExecucao.registrar(EventosExecucao.CARGA_DADOS, "idMassa", idCenario, "sucesso", carregada,
+                    "duracaoMs", (System.nanoTime() - inicioCarga) / 1_000_000);
         }
     }
 
@@ -99,20 +105,6 @@ public class HooksDados {
         return tagsCenario.keySet().stream().findFirst().orElse(null);
     }
 
-    private String mascararSenha(String senha) {
-        if (senha == null || senha.length() < 4) {
-            return senha;
-        }
-        return "***" + senha.substring(senha.length() - 4);
-    }
-
-    private String mascararIdParaLog(String id) {
-        if (id == null || id.length() < 4) {
-            return id;
-        }
-        return "***" + id.substring(id.length() - 4);
-    }
-
     @Before("@LimparEstadoAntes")
     public void beforeExclusionScenario() {
         LogFormatter.logStep("HOOK (@LimparEstadoAntes): Limpando o estado do TokenManager e UsuarioManager especificamente para o cenário de exclusão.");
@@ -3,56 +3,56 @@ package org.br.com.test.utils.hooks;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.ThreadContext;
+import org.br.com.core.filter.CapturaCorpo;
+import org.br.com.core.filter.CapturaTrocasHttp;
+import org.br.com.core.filter.TrocaHttp;
 import org.br.com.core.support.Context;
 import org.br.com.test.utils.DataUtils;
+import org.br.com.test.utils.ExecucaoConfig;
+import org.br.com.core.support.logger.EventosExecucao;
 import org.br.com.core.support.logger.LogFormatter;
 import org.br.com.test.utils.FormatUtils;
+import org.br.com.test.utils.evidence.AmostragemEvidencias;
+import org.br.com.test.utils.evidence.EvidenceRenderer;
+import org.br.com.test.utils.evidence.EvidenceRenderers;
+import org.br.com.test.utils.evidence.EvidenciaApi;
+import org.br.com.test.utils.evidence.EvidenciaExecutor;
+import org.br.com.test.utils.evidence.EvidenciaGerada;
 import org.br.com.test.utils.evidence.GeradorDocxApi;
 
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Log4j2
 public class HooksEvidenciasApi {
 
-    @Getter
-    private static Scenario scenario;
+    private static final TrocaHttp TROCA_VAZIA = TrocaHttp.builder()
+            .method("").uri("").headers(java.util.Collections.emptyList()).requestBody("").statusCode("").responseBody("")
+            .build();
 
-    private static String requestMethod, requestUri, headers, requestBody, statusCode, responseBody;
-    private static String tag, nomeCenario, idEvidencia, dataHoraInicio, dataHoraTermino, featureName;
-    private static String uuidFeature;
+    // Estado do cenário: o Cucumber cria uma instância de hook por cenário, então nada é compartilhado entre threads.
+    private String tag, nomeCenario, idEvidencia, dataHoraInicio, dataHoraTermino, featureName;
+    private String uuidFeature;
+    private long inicioNanos;
 
-    private static String lastFeatureName = null;
-    private static String lastFeatureUUID = null;
-
-    private static void limparDados() {
-        requestMethod = requestUri = headers = requestBody = statusCode = responseBody = "";
-        tag = nomeCenario = idEvidencia = dataHoraInicio = dataHoraTermino = featureName = "";
-    }
-
-    public static void capturarDadosRequisicao(String method, String uri, String headersData, String body) {
-        requestMethod = method; requestUri = uri; headers = headersData; requestBody = body;
-    }
-
-    public static void capturarDadosResposta(String code, String response) {
-        statusCode = code; responseBody = response;
-    }
+    private static final String CHAVE_LOG_CENARIO = "cenario";
 
     @Before
     public void antesDoTeste(Scenario scenario) {
-        limparDados();
-        HooksEvidenciasApi.scenario = scenario;
+        CapturaTrocasHttp.iniciar();
+
+        // Chave de roteamento do log por cenário (appender "PorCenario" do log4j2.xml): tudo o que esta thread
+        // logar até o fim do cenário vai também para target/log/cenarios/<id do cenário>.log. O cabeçalho
+        // logado logo abaixo identifica a feature e o cenário dentro do arquivo.
+        ThreadContext.put(CHAVE_LOG_CENARIO, scenario.getId());
 
         featureName = getFeatureTitleFromScenario(scenario);
         nomeCenario = scenario.getName();
 
         // Sempre imprime o cabeçalho, mesmo se a feature não mudou
         uuidFeature = Context.getOrCreateFeatureUUID(featureName);
-        lastFeatureName = featureName;
-        lastFeatureUUID = uuidFeature;
 
         LogFormatter.logExecutionHeader(java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         LogFormatter.logFeature(featureName);
@@ -70,12 +70,28 @@ public class HooksEvidenciasApi {
                 .map(t -> t.substring(1))
                 .findFirst()
                 .orElse("CT_NAO_DEFINIDO");
+
+        inicioNanos = System.nanoTime();
+        EventosExecucao.registrar(EventosExecucao.CENARIO_INICIO, "feature", featureName, "nome", nomeCenario, "tag", tag);
     }
 
     @After
     public void depoisDoTeste(Scenario scenario) {
+        try {
+            finalizarCenario(scenario);
+        } finally {
+            ThreadContext.remove(CHAVE_LOG_CENARIO);
+        }
+    }
+
+    private void finalizarCenario(Scenario scenario) {
         dataHoraTermino = DataUtils.getHoraAtualComMilis();
 
+        // A evidência principal é a última troca HTTP (a validada pelo step 'Then'); as anteriores vão em seção própria.
+        List<TrocaHttp> trocas = CapturaTrocasHttp.consumir();
+        TrocaHttp principal = trocas.isEmpty() ? TROCA_VAZIA : trocas.get(trocas.size() - 1);
+        String statusCode = principal.getStatusCode();
+
         String failureLog = null;
         boolean failed = scenario.isFailed();
         if (failed) {
@@ -88,39 +104,89 @@ public class HooksEvidenciasApi {
         }
         Context.clearContext();
 
+        EventosExecucao.registrar(EventosExecucao.CENARIO_FIM, "status", failed ? "FAILED" : "PASSED",
+                "duracaoMs", (System.nanoTime() - inicioNanos) / 1_000_000, "trocasHttp", trocas.size());
+
+        // Amostragem: aprovações descartadas nem chegam a formatar corpos ou montar a evidência.
+        AmostragemEvidencias.Decisao decisao = AmostragemEvidencias.avaliar(scenario.getId(), !failed);
+        if (decisao == AmostragemEvidencias.Decisao.DESCARTAR) {
+            LogFormatter.logScenarioEnd("PASSED");
+            return;
+        }
+
+        List<TrocaHttp> trocasAnteriores = new ArrayList<>();
+        for (int i = 0; i < trocas.size() - 1; i++) {
+            trocasAnteriores.add(formatarTroca(trocas.get(i)));
+        }
+
         String featureFileName = getFeatureFileNameFromScenario(scenario);
-        GeradorDocxApi.setApiData(
-                dataHoraInicio,
-                dataHoraTermino,
-                requestMethod,
-                requestUri,
-                org.br.com.test.utils.FormatUtils.formatHeaders(headers),
-                FormatUtils.prettyJson(requestBody),
-                statusCode,
-                org.br.com.test.utils.FormatUtils.maskSensitiveDataInJson(FormatUtils.prettyJson(responseBody)),
-                tag,
-                nomeCenario,
-                featureName,
-                failureLog
-        );
-
-        GeradorDocxApi.gerarEvidenciaApi(nomeCenario, idEvidencia, !failed, uuidFeature, featureFileName);
+        EvidenceRenderer renderer = EvidenceRenderers.atual();
+        String caminhoEvidencia = GeradorDocxApi.montarCaminhoEvidencia(tag, nomeCenario, uuidFeature, featureFileName, renderer.getExtensao());
+        EvidenciaApi evidencia = EvidenciaApi.builder()
+                .horaInicio(dataHoraInicio)
+                .horaTermino(dataHoraTermino)
+                .requestMethod(principal.getMethod())
+                .requestUri(principal.getUri())
+                .headers(FormatUtils.formatHeaders(principal.getHeaders()))
+                .requestBody(CapturaCorpo.comReferencia(FormatUtils.prettyJsonMascarado(principal.getRequestBody()), principal.getRequestBodyHash()))
+                .requestBodyHash(principal.getRequestBodyHash())
+                .statusCode(statusCode)
+                .responseBody(CapturaCorpo.comReferencia(FormatUtils.prettyJsonMascarado(principal.getResponseBody()), principal.getResponseBodyHash()))
+                .responseBodyHash(principal.getResponseBodyHash())
+                .trocasAnteriores(trocasAnteriores)
+                .tag(tag)
+                .scenarioName(nomeCenario)
+                .scenarioId(idEvidencia)
+                .idCenario(scenario.getId())
+                .featureName(featureName)
+                .failureLog(failureLog)
+                .passed(!failed)
+                .caminhoArquivo(caminhoEvidencia)
+                .build();
+
+        if (decisao == AmostragemEvidencias.Decisao.ADIAR) {
+            // Vai para o reservatório da tag; só é gerada (ou não) no fim da execução, então não há o que anexar.
+            AmostragemEvidencias.adiar(tag, evidencia);
+            LogFormatter.logScenarioEnd("PASSED");
+            return;
+        }
+
+        String modoAnexo = ExecucaoConfig.getEvidenciaAnexoModo();
+        EvidenciaGerada gerada = null;
+        if ("embutido".equals(modoAnexo)) {
+            // Para embutir é preciso o documento pronto: gera aqui mesmo e usa os bytes já renderizados.
+            gerada = EvidenciaExecutor.gerarAgora(evidencia);
+        } else {
+            // A geração da evidência sai do caminho crítico: o cenário entrega os dados e segue.
+            EvidenciaExecutor.enviar(evidencia);
+        }
 
         // NOVO: Loga o status final do cenário
         LogFormatter.logScenarioEnd(failed ? "FAILED" : "PASSED");
 
-        String cleanScenarioName = nomeCenario.replaceAll("[^a-zA-Z0-9\\s]", "").replaceAll("\\s+", "_").toLowerCase();
-        String fileName = tag + "_" + cleanScenarioName + " - " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH_mm_ss_SSS")) + ".docx";
-        java.nio.file.Path dirDocx = java.nio.file.Paths.get("target", "evidence", featureFileName, uuidFeature, fileName);
+        anexarEvidencia(scenario, modoAnexo, renderer, caminhoEvidencia, gerada);
+    }
 
-        if (java.nio.file.Files.exists(dirDocx)) {
-            try {
-                byte[] docx = java.nio.file.Files.readAllBytes(dirDocx);
-                scenario.attach(docx, "application/vnd.openxmlformats-officedocument-wordprocessingml-document", "Evidencia - " + nomeCenario);
-            } catch (IOException e) {
-                HooksEvidenciasApi.log.error("Erro ao anexar evidencia DOCX ao relatorio: ", e);
-            }
+    private void anexarEvidencia(Scenario scenario, String modoAnexo, EvidenceRenderer renderer, String caminhoEvidencia, EvidenciaGerada gerada) {
+        if ("nenhum".equals(modoAnexo) || ("embutido".equals(modoAnexo) && gerada == null)) {
+            return;
         }
+        if (gerada != null && gerada.getConteudo() != null) {
+            scenario.attach(gerada.getConteudo(), renderer.getMimeType(), "Evidencia - " + nomeCenario);
+            return;
+        }
+        // Modo link (ou documento escrito em streaming): referencia o arquivo sem embuti-lo no relatório.
+        // O arquivo vem do renderer: o JSON-lines grava todos os cenários em um único arquivo, não no caminho do cenário.
+        java.nio.file.Path arquivo = gerada != null ? gerada.getCaminho() : renderer.caminhoAnexo(caminhoEvidencia);
+        String uri = arquivo.toAbsolutePath().toUri().toString();
+        scenario.attach(uri, "text/uri-list", "Evidencia - " + nomeCenario);
+    }
+
+    private static TrocaHttp formatarTroca(TrocaHttp troca) {
+        return troca.toBuilder()
+                .requestBody(CapturaCorpo.comReferencia(FormatUtils.prettyJsonMascarado(troca.getRequestBody()), troca.getRequestBodyHash()))
+                .responseBody(CapturaCorpo.comReferencia(FormatUtils.prettyJsonMascarado(troca.getResponseBody()), troca.getResponseBodyHash()))
+                .build();
     }
 
     private String getFeatureTitleFromScenario(Scenario scenario) {
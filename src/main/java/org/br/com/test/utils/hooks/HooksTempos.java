@@ -0,0 +1,35 @@
+package org.br.com.test.utils.hooks;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
+import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
+import io.cucumber.java.Scenario;
+import org.br.com.core.support.logger.TemposExecucao;
+
+public class HooksTempos {
+
+	// O Cucumber cria uma instância por cenário, então os instantes iniciais não precisam de ThreadLocal.
+	private long inicioCenario;
+	private long inicioStep;
+
+	@Before(order = 1)
+	public void iniciarCenario(Scenario cenario) {
+		inicioCenario = System.nanoTime();
+	}
+
+	@BeforeStep
+	public void iniciarStep() {
+		inicioStep = System.nanoTime();
+	}
+
+	@AfterStep
+	public void finalizarStep() {
+		TemposExecucao.registrarStep(System.nanoTime() - inicioStep);
+	}
+
+	@After
+	public void finalizarCenario(Scenario cenario) {
+		TemposExecucao.registrarCenario(cenario.getUri().toString(), inicioCenario, System.nanoTime());
+	}
+}
@@ -0,0 +1,107 @@
+package org.br.com.core.filter;
+
+import org.br.com.test.utils.ExecucaoConfig;
+import org.br.com.test.utils.MascaramentoDados;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Deduplicação do {@link RepositorioBlobs} e referência por hash dos corpos capturados pelo {@link CapturaCorpo}.
+ * Os blobs ficam em target/evidence/blobs, como numa execução normal.
+ */
+public class RepositorioBlobsTest {
+
+	@Test
+	public void mesmoConteudoGeraUmUnicoBlob() throws Exception {
+		byte[] conteudo = ("{\"mensagem\":\"" + UUID.randomUUID() + "\"}").getBytes(StandardCharsets.UTF_8);
+
+		String primeiro = RepositorioBlobs.armazenar(conteudo);
+		String segundo = RepositorioBlobs.armazenar(conteudo.clone());
+
+		assertEquals(primeiro, segundo);
+		assertArrayEquals(conteudo, Files.readAllBytes(RepositorioBlobs.caminho(primeiro)));
+	}
+
+	@Test
+	public void conteudosDiferentesGeramBlobsDiferentes() throws Exception {
+		String base = UUID.randomUUID().toString();
+
+		assertNotEquals(RepositorioBlobs.armazenar((base + "a").getBytes(StandardCharsets.UTF_8)),
+				RepositorioBlobs.armazenar((base + "b").getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void gravacoesConcorrentesDoMesmoConteudoConvergem() throws Exception {
+		byte[] conteudo = UUID.randomUUID().toString().repeat(1000).getBytes(StandardCharsets.UTF_8);
+		ExecutorService threads = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<String>> tarefas = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				tarefas.add(() -> RepositorioBlobs.armazenar(conteudo));
+			}
+			Set<String> hashes = new HashSet<>();
+			for (Future<String> hash : threads.invokeAll(tarefas)) {
+				hashes.add(hash.get());
+			}
+
+			assertEquals(1, hashes.size());
+			assertArrayEquals(conteudo, Files.readAllBytes(RepositorioBlobs.caminho(hashes.iterator().next())));
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	@Test
+	public void corpoCapturadoRepetidoReferenciaOMesmoBlobJaMascarado() throws Exception {
+		assumeTrue(ExecucaoConfig.isEvidenciaBlobsHabilitado());
+		assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+		String corpo = "{\"usuario\":\"" + UUID.randomUUID() + "\",\"senha\":\"segredo123\"}";
+
+		CapturaCorpo.Corpo primeiro = CapturaCorpo.capturar(corpo);
+		CapturaCorpo.Corpo segundo = CapturaCorpo.capturar(corpo.getBytes(StandardCharsets.UTF_8));
+
+		assertNotNull(primeiro.getHash());
+		assertEquals(primeiro.getHash(), segundo.getHash());
+		String gravado = new String(Files.readAllBytes(RepositorioBlobs.caminho(primeiro.getHash())), StandardCharsets.UTF_8);
+		assertFalse(gravado.contains("segredo123"));
+		// Corpo pequeno: a prévia é o corpo inteiro, e o hash vai junto quando exibido.
+		assertEquals(gravado, primeiro.getTexto());
+		assertTrue(primeiro.getTextoComReferencia().contains(primeiro.getHash()));
+	}
+
+	@Test
+	public void corpoGrandeFicaSoComAPrevia() throws Exception {
+		assumeTrue(ExecucaoConfig.isEvidenciaBlobsHabilitado());
+		StringBuilder sb = new StringBuilder("[");
+		while (sb.length() < ExecucaoConfig.getEvidenciaCorpoPreviaBytes() * 4) {
+			sb.append("{\"id\":\"").append(UUID.randomUUID()).append("\"},");
+		}
+		sb.setLength(sb.length() - 1);
+		String corpo = sb.append(']').toString();
+
+		CapturaCorpo.Corpo capturado = CapturaCorpo.capturar(corpo);
+
+		assertTrue(capturado.getTexto().contains("[corpo truncado: "));
+		assertTrue(capturado.getTexto().length() < corpo.length());
+		assertTrue(Files.size(RepositorioBlobs.caminho(capturado.getHash())) > ExecucaoConfig.getEvidenciaCorpoPreviaBytes());
+	}
+}
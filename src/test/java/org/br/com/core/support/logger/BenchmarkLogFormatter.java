@@ -0,0 +1,86 @@
+package org.br.com.core.support.logger;
+
+import org.apache.logging.log4j.LogManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Benchmark do custo por step do {@link LogFormatter} na thread chamadora (a thread do cenário).
+ * Mede tempo médio por chamada e bytes alocados por chamada para mensagens curtas e para corpos de resposta.
+ *
+ * Para comparar configurações, rode com a configuração atual (assíncrona) e com a síncrona:
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.br.com.core.support.logger.BenchmarkLogFormatter
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.br.com.core.support.logger.BenchmarkLogFormatter -Dlog4j2.configurationFile=&lt;log4j2 sincrono&gt;
+ * Fica em src/test para não ser empacotado com o código da automação.
+ * Argumentos opcionais: [iteracoes] [tamanho do corpo em caracteres].
+ */
+public class BenchmarkLogFormatter {
+
+	public static void main(String[] args) {
+		int iteracoes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int tamanhoCorpo = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+		StringBuilder sb = new StringBuilder(tamanhoCorpo);
+		while (sb.length() < tamanhoCorpo) {
+			sb.append("{\"id\":\"123\",\"nome\":\"artigo\"},");
+		}
+		String corpo = sb.substring(0, tamanhoCorpo);
+
+		// Aquecimento: JIT e criação dos appenders fora da medição.
+		medir("aquecimento", iteracoes / 10, corpo);
+
+		Resultado passo = medir("logStep curto", iteracoes, null);
+		Resultado resposta = medir("logResponse " + tamanhoCorpo + " chars", iteracoes, corpo);
+
+		System.out.println("==========================================");
+		System.out.println("Benchmark LogFormatter (" + iteracoes + " iteracoes)");
+		System.out.println(passo);
+		System.out.println(resposta);
+		System.out.println("==========================================");
+
+		// Garante que eventos ainda no ring buffer sejam gravados antes de sair.
+		LogManager.shutdown();
+	}
+
+	private static Resultado medir(String nome, int iteracoes, String corpo) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		long bytesAntes = alocado(threads, threadId);
+		long inicio = System.nanoTime();
+		for (int i = 0; i < iteracoes; i++) {
+			if (corpo == null) {
+				LogFormatter.logStep("Validando status code da requisicao " + i);
+			} else {
+				LogFormatter.logResponse(200, corpo);
+			}
+		}
+		long nanos = System.nanoTime() - inicio;
+		long bytes = alocado(threads, threadId) - bytesAntes;
+		return new Resultado(nome, nanos / (double) iteracoes, bytesAntes < 0 ? -1 : bytes / (double) iteracoes);
+	}
+
+	private static long alocado(ThreadMXBean threads, long threadId) {
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId);
+		}
+		return -1;
+	}
+
+	private static class Resultado {
+		private final String nome;
+		private final double nanosPorChamada;
+		private final double bytesPorChamada;
+
+		Resultado(String nome, double nanosPorChamada, double bytesPorChamada) {
+			this.nome = nome;
+			this.nanosPorChamada = nanosPorChamada;
+			this.bytesPorChamada = bytesPorChamada;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-28s %10.1f ns/chamada | %10.1f bytes alocados/chamada", nome, nanosPorChamada, bytesPorChamada);
+		}
+	}
+}
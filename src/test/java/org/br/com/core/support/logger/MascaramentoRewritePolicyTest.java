@@ -0,0 +1,71 @@
+package org.br.com.core.support.logger;
+
+import org.br.com.test.utils.MascaramentoDados;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Regras de texto livre do {@link MascaramentoRewritePolicy}, com as flags de log.mascarar.* do test.properties.
+ */
+public class MascaramentoRewritePolicyTest {
+
+	@Test
+	public void mascaraSenhaEmCampoChaveValor() {
+		assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+		String mascarado = MascaramentoRewritePolicy.mascarar("login senha=segredo123&usuario=ana");
+
+		assertFalse(mascarado.contains("segredo123"));
+		assertTrue(mascarado.contains("senha=" + MascaramentoDados.mascarar(MascaramentoDados.Tipo.SENHA, "segredo123")));
+		assertTrue(mascarado.endsWith("&usuario=ana"));
+	}
+
+	@Test
+	public void mascaraSenhaEmCampoJson() {
+		assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+		String mascarado = MascaramentoRewritePolicy.mascarar("{\"Password\": \"segredo123\", \"nome\": \"ana\"}");
+
+		assertFalse(mascarado.contains("segredo123"));
+		assertTrue(mascarado.contains("\"nome\": \"ana\""));
+	}
+
+	@Test
+	public void mascaraTokenBearer() {
+		assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.TOKEN));
+		String mascarado = MascaramentoRewritePolicy.mascarar("Authorization: Bearer abc.def.ghi-jkl");
+
+		assertFalse(mascarado.contains("abc.def.ghi-jkl"));
+	}
+
+	@Test
+	public void textoSemDadosSensiveisVoltaMesmaInstancia() {
+		String texto = "status 200 em 35 ms";
+		assertSame(texto, MascaramentoRewritePolicy.mascarar(texto));
+	}
+
+	@Test
+	public void escritorMascaraIgualAoTextoInteiroMesmoComCortesEntreBlocos() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; sb.length() < 300_000; i++) {
+			sb.append("linha ").append(i).append(": campo=valor; senha=segredo").append(i).append("; texto livre\n");
+		}
+		String texto = sb.toString();
+
+		StringWriter saida = new StringWriter();
+		try (Writer escritor = MascaramentoRewritePolicy.escritor(saida)) {
+			// Pedaços pequenos e ímpares, para que os cortes caiam dentro de "senha=valor".
+			for (int i = 0; i < texto.length(); i += 7) {
+				escritor.write(texto, i, Math.min(7, texto.length() - i));
+			}
+		}
+
+		assertEquals(MascaramentoRewritePolicy.mascarar(texto), saida.toString());
+	}
+}
@@ -0,0 +1,55 @@
+package org.br.com.core.support.logger;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Faixas e percentis do {@link TemposExecucao.Histograma}.
+ */
+public class TemposExecucaoTest {
+
+	private static final long MS = 1_000_000L;
+
+	@Test
+	public void percentisDentroDoErroDaFaixa() {
+		TemposExecucao.Histograma histograma = new TemposExecucao.Histograma();
+		for (long ms = 1; ms <= 1000; ms++) {
+			histograma.registrar(ms * MS);
+		}
+
+		// 16 subfaixas por potência de 2: erro relativo máximo de 1/16.
+		assertEquals(500 * MS, histograma.percentil(50), 500 * MS / 16.0);
+		assertEquals(900 * MS, histograma.percentil(90), 900 * MS / 16.0);
+		assertEquals(990 * MS, histograma.percentil(99), 990 * MS / 16.0);
+		assertEquals(1000 * MS, histograma.percentil(100));
+	}
+
+	@Test
+	public void valorCaiNaFaixaCujoLimiteSuperiorOCobre() {
+		Random random = new Random(42);
+		for (int i = 0; i < 10_000; i++) {
+			long valor = i < 200 ? i : random.nextLong() >>> (1 + random.nextInt(40));
+			int indice = TemposExecucao.Histograma.indice(valor);
+
+			assertTrue("limite da faixa de " + valor, TemposExecucao.Histograma.limiteSuperior(indice) >= valor);
+			if (indice > 0) {
+				assertTrue("faixa anterior de " + valor, TemposExecucao.Histograma.limiteSuperior(indice - 1) < valor);
+			}
+		}
+	}
+
+	@Test
+	public void histogramaVazioOuLimpoDevolveZero() {
+		TemposExecucao.Histograma histograma = new TemposExecucao.Histograma();
+		assertEquals(0, histograma.percentil(50));
+
+		histograma.registrar(10 * MS);
+		histograma.limpar();
+
+		assertEquals(0, histograma.percentil(99));
+	}
+}
@@ -0,0 +1,73 @@
+package org.br.com.test.utils;
+
+import io.restassured.http.Header;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class FormatUtilsTest {
+
+    @Test
+    public void acceptViraUmaLinhaPorTipo() {
+        String formatado = FormatUtils.formatHeaders(List.of(new Header("Accept", "application/json, text/plain")));
+
+        assertEquals("Accept=application/json\ntext/plain", formatado);
+    }
+
+    @Test
+    public void valorComIgualNaoEhQuebrado() {
+        String formatado = FormatUtils.formatHeaders(List.of(
+                new Header("Content-Type", "multipart/form-data; boundary=abc=def"),
+                new Header("X-Filtro", "a=b=c")));
+
+        assertEquals("Content-Type=multipart/form-data; boundary=abc=def\nX-Filtro=a=b=c", formatado);
+    }
+
+    @Test
+    public void headerSensivelEhMascarado() {
+        assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.TOKEN));
+        String valor = "Bearer abcdefghijklmnopqrstuvwxyz";
+        String formatado = FormatUtils.formatHeaders(List.of(new Header("Authorization", valor)));
+
+        assertEquals("Authorization=" + MascaramentoDados.mascarar(MascaramentoDados.Tipo.TOKEN, valor), formatado);
+    }
+
+    @Test
+    public void jsonMascaradoEIndentado() {
+        assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+        String formatado = FormatUtils.prettyJsonMascarado("{\"senha\":\"segredo123\",\"nome\":\"ana\"}");
+
+        assertFalse(formatado.contains("segredo123"));
+        assertTrue(formatado.contains("\"nome\" : \"ana\""));
+        assertTrue(formatado.contains("\n"));
+    }
+
+    @Test
+    public void textoQueNaoEhJsonNaoVoltaEmClaro() {
+        assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+
+        assertFalse(FormatUtils.prettyJsonMascarado("senha=segredo123&nome=ana").contains("segredo123"));
+    }
+
+    @Test
+    public void jsonTruncadoMascaraTambemORestante() {
+        assumeTrue(MascaramentoDados.isHabilitado(MascaramentoDados.Tipo.SENHA));
+        String previa = "{\"nome\":\"ana\",\"senha\":\"segredo123\",\"lista\":[1,2,";
+
+        String formatado = FormatUtils.prettyJsonMascarado(previa + "\n... senha=outroSegredo [corpo truncado: 99999 bytes]");
+
+        assertFalse(formatado.contains("segredo123"));
+        assertFalse(formatado.contains("outroSegredo"));
+        assertTrue(formatado.contains("[corpo truncado: 99999 bytes]"));
+    }
+
+    @Test
+    public void jsonSemMascaramentoMantemValores() {
+        assertTrue(FormatUtils.prettyJson("{\"senha\":\"segredo123\"}").contains("segredo123"));
+    }
+}
@@ -0,0 +1,42 @@
+package org.br.com.test.utils;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class RelogioFormatadoTest {
+
+	@Test
+	public void mesmaUnidadeDevolveMesmaString() {
+		// Unidade de um dia: as duas chamadas caem na mesma marca (exceto à meia-noite).
+		RelogioFormatado relogio = new RelogioFormatado("yyyy-MM-dd", 24 * 60 * 60 * 1000L);
+		String primeiro = relogio.agora();
+
+		assertSame(primeiro, relogio.agora());
+	}
+
+	@Test
+	public void textoEhRefeitoQuandoORelogioVira() {
+		RelogioFormatado relogio = new RelogioFormatado("HH:mm:ss.SSS", 1);
+		String primeiro = relogio.agora();
+		String seguinte = primeiro;
+		long limite = System.nanoTime() + 1_000_000_000L;
+		while (seguinte == primeiro && System.nanoTime() < limite) {
+			seguinte = relogio.agora();
+		}
+
+		assertNotEquals(primeiro, seguinte);
+	}
+
+	@Test
+	public void textoSegueOPadrao() {
+		RelogioFormatado relogio = new RelogioFormatado("yyyy-MM-dd HH", 60 * 60 * 1000L);
+
+		assertEquals(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH")), relogio.agora());
+	}
+}
@@ -0,0 +1,119 @@
+package org.br.com.test.utils.evidence;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * O DOCX escrito em streaming deve preencher o modelo como o gerador POI, em especial a célula de status.
+ */
+public class EscritorDocxStreamingTest {
+
+	@Rule
+	public TemporaryFolder pasta = new TemporaryFolder();
+
+	@Test
+	public void cenarioAprovadoPreencheAsCelulasComoOPoi() throws Exception {
+		compararComPoi(true);
+	}
+
+	@Test
+	public void cenarioReprovadoPreencheAsCelulasComoOPoi() throws Exception {
+		compararComPoi(false);
+	}
+
+	private void compararComPoi(boolean aprovado) throws Exception {
+		File poi = new File(pasta.getRoot(), "poi.docx");
+		File streaming = new File(pasta.getRoot(), "streaming.docx");
+		EvidenciaApi evidencia = evidencia(aprovado, poi.getPath());
+
+		// Corpos pequenos: abaixo do limite de streaming, o gerador usa o POI.
+		assertFalse(EscritorDocxStreaming.deveUsar(evidencia));
+		assertNotNull(GeradorDocxApi.gerarEvidenciaApi(evidencia));
+		EscritorDocxStreaming.escrever(streaming.getPath(), evidencia);
+
+		List<String> celulasPoi = celulas(poi);
+		assertEquals(celulasPoi, celulas(streaming));
+
+		String status = "Status: " + (aprovado ? "PASSED" : "FAILED");
+		assertTrue(celulasPoi.contains(status));
+		for (String celula : celulasPoi) {
+			assertFalse(celula, celula.contains("{{"));
+		}
+		assertEquals(paragrafosDaCelula(poi, status), paragrafosDaCelula(streaming, status));
+	}
+
+	private static EvidenciaApi evidencia(boolean aprovado, String caminho) {
+		return EvidenciaApi.builder()
+				.horaInicio("10:00:00")
+				.horaTermino("10:00:01")
+				.requestMethod("POST")
+				.requestUri("http://localhost:3000/auth/login")
+				.headers("Accept=application/json\nContent-Type=application/json")
+				.requestBody("{\n  \"email\" : \"ana@teste.com\"\n}")
+				.statusCode(aprovado ? "200" : "401")
+				.responseBody("{\n  \"mensagem\" : \"ok & <fim>\"\n}")
+				.tag("CT-1001")
+				.scenarioName("Login com sucesso")
+				.scenarioId("CT-1001")
+				.idCenario("login.feature:10")
+				.featureName("Login")
+				.passed(aprovado)
+				.caminhoArquivo(caminho)
+				.trocasAnteriores(Collections.emptyList())
+				.build();
+	}
+
+	private static List<String> celulas(File docx) throws Exception {
+		List<String> textos = new ArrayList<>();
+		try (InputStream in = Files.newInputStream(docx.toPath()); XWPFDocument doc = new XWPFDocument(in)) {
+			for (XWPFTable tabela : doc.getTables()) {
+				for (XWPFTableRow linha : tabela.getRows()) {
+					for (XWPFTableCell celula : linha.getTableCells()) {
+						textos.add(celula.getText());
+					}
+				}
+			}
+		}
+		return textos;
+	}
+
+	/**
+	 * Texto de cada parágrafo da célula de status, para conferir que todos foram reescritos.
+	 */
+	private static List<String> paragrafosDaCelula(File docx, String texto) throws Exception {
+		try (InputStream in = Files.newInputStream(docx.toPath()); XWPFDocument doc = new XWPFDocument(in)) {
+			for (XWPFTable tabela : doc.getTables()) {
+				for (XWPFTableRow linha : tabela.getRows()) {
+					for (XWPFTableCell celula : linha.getTableCells()) {
+						if (texto.equals(celula.getText())) {
+							List<String> paragrafos = new ArrayList<>();
+							for (XWPFParagraph paragrafo : celula.getParagraphs()) {
+								paragrafos.add(paragrafo.getText());
+							}
+							return paragrafos;
+						}
+					}
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+}